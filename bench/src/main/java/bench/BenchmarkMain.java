@@ -0,0 +1,51 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Entry point of the benchmark jar.
+ * Runs the selected benchmarks twice: once in throughput mode (ops/s) with the gc profiler attached, so the
+ * allocation rate is reported alongside, and once in sample-time mode (us/op) to report the latency percentiles,
+ * p99 included. Any standard JMH command line options (e.g. a benchmark regex, -p size=20) are passed through.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+public class BenchmarkMain {
+
+    /**
+     * Runs the benchmarks
+     *
+     * @param args JMH command line options
+     * @throws Exception if the options are invalid or a benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        Options throughput = new OptionsBuilder()
+                .parent(commandLine)
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(throughput).run();
+
+        Options latency = new OptionsBuilder()
+                .parent(commandLine)
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .build();
+        new Runner(latency).run();
+    }
+
+}
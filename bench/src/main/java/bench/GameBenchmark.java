@@ -0,0 +1,104 @@
+package bench;
+
+import model.Board;
+import model.BoardGenerator;
+import model.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Measures complete games from generation to the win, played by a bot that can see the mines.
+ * Each game clicks every safe cell in a random order, so it exercises generation, single-cell and cascading reveals,
+ * and the win detection on every move.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GameBenchmark {
+
+    /**
+     * Board configuration as width x height x mines: beginner, intermediate, expert, and the default 20x20
+     */
+    @Param({"9x9x10", "16x16x40", "30x16x99", "20x20x56"})
+    public String config;
+
+    /**
+     * Number of columns
+     */
+    private int width;
+
+    /**
+     * Number of rows
+     */
+    private int height;
+
+    /**
+     * Number of mines
+     */
+    private int numMines;
+
+    /**
+     * Source of mine placements and click order
+     */
+    private Random random;
+
+    /**
+     * Parses the configuration and seeds the random source
+     */
+    @Setup
+    public void setUp() {
+        String[] parts = config.split("x");
+        width = Integer.parseInt(parts[0]);
+        height = Integer.parseInt(parts[1]);
+        numMines = Integer.parseInt(parts[2]);
+        random = new Random(42);
+    }
+
+    /**
+     * @return the final state of the game
+     */
+    @Benchmark
+    public GameState play() {
+        Board board = BoardGenerator.generate(width, height, numMines, random.nextLong());
+        int numCells = board.getNumCells();
+        // Visit every cell once, starting anywhere and stepping by a stride coprime to the number of cells
+        int stride = 1 + 2 * random.nextInt(numCells);
+        while (gcd(stride, numCells) != 1) stride += 2;
+        int index = random.nextInt(numCells);
+        while (board.getGameState() == GameState.IN_PROGRESS) {
+            if (!board.isMine(index)) board.reveal(index);
+            index = (int) ((index + (long) stride) % numCells);
+        }
+        return board.getGameState();
+    }
+
+    /**
+     * @param a first number
+     * @param b second number
+     * @return the greatest common divisor of a and b
+     */
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+}
@@ -0,0 +1,75 @@
+package bench;
+
+import model.Board;
+import model.BoardGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Measures building a Board - mine placement plus neighbor counting - over a range of sizes and densities,
+ * both serially and in parallel on the common fork-join pool.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GenerationBenchmark {
+
+    /**
+     * Width and height of the square board
+     */
+    @Param({"20", "100", "500", "2000"})
+    public int size;
+
+    /**
+     * Fraction of the board that contains mines
+     */
+    @Param({"0.05", "0.14", "0.25"})
+    public double density;
+
+    /**
+     * Whether to generate on the common fork-join pool or on the benchmark thread
+     */
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    /**
+     * Number of mines for size and density
+     */
+    private int numMines;
+
+    /**
+     * Seed of the next Board
+     */
+    private long seed;
+
+    /**
+     * Computes the number of mines
+     */
+    @Setup
+    public void setUp() {
+        numMines = (int) (size * size * density);
+        seed = 42;
+    }
+
+    /**
+     * @return a newly generated Board
+     */
+    @Benchmark
+    public Board generate() {
+        return BoardGenerator.generate(size, size, numMines, seed++, parallel);
+    }
+
+}
@@ -0,0 +1,64 @@
+package bench;
+
+import model.Board;
+import model.BoardGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Measures flag toggling: the model side of a right click, cycling a cell through "X", "?" and unmarked.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MarkBenchmark {
+
+    /**
+     * Width and height of the square board
+     */
+    @Param({"20", "1000"})
+    public int size;
+
+    /**
+     * Board whose cells are marked
+     */
+    private Board board;
+
+    /**
+     * Next cell to be marked
+     */
+    private int index;
+
+    /**
+     * Builds the board
+     */
+    @Setup
+    public void setUp() {
+        board = BoardGenerator.generate(size, size, size * size / 7, 42);
+        index = 0;
+    }
+
+    /**
+     * @return the counter of unmarked mines after the toggle
+     */
+    @Benchmark
+    public int cycleMark() {
+        board.cycleMark(index);
+        if (++index == board.getNumCells()) index = 0;
+        return board.getPossibleMines();
+    }
+
+}
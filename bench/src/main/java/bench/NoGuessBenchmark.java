@@ -0,0 +1,64 @@
+package bench;
+
+import model.NoGuessGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Measures the cost of checking one no-guess candidate on a single thread: generating it with the start cell kept
+ * clear, and playing it with the Solver until it is won or stuck. The throughput score is the number of candidates
+ * per second per core that NoGuessGenerator can search.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class NoGuessBenchmark {
+
+    /**
+     * Board configuration as width x height x mines: beginner, intermediate and expert
+     */
+    @Param({"9x9x10", "16x16x40", "30x16x99"})
+    public String config;
+
+    /**
+     * Generator for the configuration
+     */
+    private NoGuessGenerator generator;
+
+    /**
+     * Number of the next candidate to check
+     */
+    private long candidate;
+
+    /**
+     * Parses the configuration
+     */
+    @Setup
+    public void setUp() {
+        String[] parts = config.split("x");
+        generator = new NoGuessGenerator(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                Integer.parseInt(parts[2]));
+    }
+
+    /**
+     * @return true if the candidate can be won without guessing
+     */
+    @Benchmark
+    public boolean check() {
+        return generator.check(42, candidate++);
+    }
+
+}
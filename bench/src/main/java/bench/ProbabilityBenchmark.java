@@ -0,0 +1,98 @@
+package bench;
+
+import model.Board;
+import model.BoardGenerator;
+import model.CellBatch;
+import model.GameState;
+import model.ProbabilityEngine;
+import model.Solver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Measures the ProbabilityEngine on a position where a guess is needed: the board is opened from a cell touching no
+ * mines and played by the Solver, taking the safest guess whenever it is stuck, until it has been stuck a number
+ * of times. The engine is then run again on that position, where the frontier is at its widest so far.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProbabilityBenchmark {
+
+    /**
+     * Board configuration as width x height x mines: expert, and a large board at the same density
+     */
+    @Param({"30x16x99", "100x100x2000"})
+    public String config;
+
+    /**
+     * Number of times the Solver gets stuck before the measured position
+     */
+    @Param({"3"})
+    public int guesses;
+
+    /**
+     * Engine for the board in the measured position
+     */
+    private ProbabilityEngine engine;
+
+    /**
+     * Plays the board up to the measured position, trying seeds until a game lasts long enough
+     */
+    @Setup
+    public void setUp() {
+        String[] parts = config.split("x");
+        for (long seed = 42; engine == null; ++seed) {
+            Board board = BoardGenerator.generate(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]), seed);
+            int start = 0;
+            while (board.isMine(start) || board.getNeighboringMines(start) != 0) ++start;
+            board.reveal(start);
+            Solver solver = new Solver(board);
+            ProbabilityEngine candidate = new ProbabilityEngine(solver);
+            int stuck = 0;
+            while (board.getGameState() == GameState.IN_PROGRESS) {
+                solver.solve();
+                CellBatch safe = solver.getSafeCells();
+                if (safe.isEmpty()) {
+                    if (++stuck > guesses) {
+                        engine = candidate;
+                        break;
+                    }
+                    candidate.compute();
+                    board.reveal(candidate.getSafestCell());
+                } else {
+                    int[] cells = new int[safe.size()];
+                    for (int i = 0; i < cells.length; ++i) {
+                        cells[i] = safe.get(i);
+                    }
+                    for (int cell : cells) {
+                        board.reveal(cell);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the probabilities for the measured position
+     */
+    @Benchmark
+    public double[] compute() {
+        return engine.compute();
+    }
+
+}
@@ -0,0 +1,87 @@
+package bench;
+
+import model.Board;
+import model.BoardGenerator;
+import model.CellBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Measures the worst case reveal: a single click on a sparse board which cascades over nearly every cell.
+ * A fresh Board is built before every invocation, outside the measured time, since a reveal cannot be repeated.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RevealBenchmark {
+
+    /**
+     * Width and height of the square board
+     */
+    @Param({"20", "200", "1000"})
+    public int size;
+
+    /**
+     * Fraction of the board that contains mines; kept low so the reveal cascades across the board
+     */
+    @Param({"0.0", "0.01"})
+    public double density;
+
+    /**
+     * Source of mine placements, seeded so every run places the same mines
+     */
+    private Random random;
+
+    /**
+     * Board to be revealed by the next invocation
+     */
+    private Board board;
+
+    /**
+     * A cell of the board which touches no mines
+     */
+    private int start;
+
+    /**
+     * Seeds the random source
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        random = new Random(42);
+    }
+
+    /**
+     * Builds a fresh board and finds a cell to start the cascade from
+     */
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        board = BoardGenerator.generate(size, size, (int) (size * size * density), random.nextLong());
+        start = 0;
+        while (board.isMine(start) || board.getNeighboringMines(start) != 0) ++start;
+    }
+
+    /**
+     * @return the batch of cells revealed by the cascade
+     */
+    @Benchmark
+    public CellBatch cascade() {
+        return board.reveal(start);
+    }
+
+}
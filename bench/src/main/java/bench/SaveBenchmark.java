@@ -0,0 +1,166 @@
+package bench;
+
+import model.Board;
+import model.BoardGenerator;
+import model.SaveFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Measures saving and loading a game part way through: opened from a cell touching no mines, with some of the hidden
+ * cells flagged and some questioned.
+ *
+ * Before anything is measured, the setup saves and loads a game on each of a number of seeds and fails the run if
+ * any cell, mine or header field differs. Most of the sizes have a number of cells which is not a multiple of 8, so
+ * the tail of each packed region is checked as well as the whole bytes.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SaveBenchmark {
+
+    /**
+     * Board configuration as width x height x mines: beginner, 7x7 and 25x25, whose cell counts are not multiples of
+     * 8, expert, and the largest board
+     */
+    @Param({"9x9x10", "7x7x10", "25x25x100", "30x16x99", "2000x2000x560000"})
+    public String config;
+
+    /**
+     * Number of seeds whose games are saved and loaded back before measuring
+     */
+    @Param({"50"})
+    public int checkedSeeds;
+
+    /**
+     * Milliseconds played stored with every save
+     */
+    private static final int ELAPSED_MILLIS = 12345;
+
+    /**
+     * Directory holding the save file
+     */
+    private Path directory;
+
+    /**
+     * The save file written and read
+     */
+    private SaveFile saveFile;
+
+    /**
+     * The game saved
+     */
+    private Board board;
+
+    /**
+     * Checks that games survive being saved and loaded, then saves the game to be measured
+     *
+     * @throws IOException if the save file could not be written or read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        String[] parts = config.split("x");
+        int width = Integer.parseInt(parts[0]);
+        int height = Integer.parseInt(parts[1]);
+        int numMines = Integer.parseInt(parts[2]);
+        directory = Files.createTempDirectory("save-benchmark");
+        saveFile = new SaveFile(directory.resolve("game.sav"));
+        for (long seed = 42; seed < 42 + checkedSeeds; ++seed) {
+            board = play(BoardGenerator.generate(width, height, numMines, seed));
+            // Alternate the no-guess flag so it is checked both ways
+            board.setNoGuess((seed & 1) == 0);
+            saveFile.save(board, ELAPSED_MILLIS);
+            Board loaded = saveFile.load();
+            if (!isSameGame(board, loaded) || saveFile.getElapsedMillis() != ELAPSED_MILLIS) {
+                throw new IllegalStateException("Save of " + config + " seed " + seed + " did not load back");
+            }
+        }
+    }
+
+    /**
+     * Deletes the save file and its directory
+     *
+     * @throws IOException if they could not be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        saveFile.delete();
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Opens a board from its first cell touching no mines, then flags every 7th hidden cell and questions every 11th
+     *
+     * @param board a new board
+     * @return the board
+     */
+    private static Board play(Board board) {
+        int start = 0;
+        while (board.isMine(start) || board.getNeighboringMines(start) != 0) ++start;
+        board.reveal(start);
+        for (int i = 0; i < board.getNumCells(); i += 7) {
+            board.cycleMark(i);
+        }
+        for (int i = 0; i < board.getNumCells(); i += 11) {
+            board.cycleMark(i);
+            board.cycleMark(i);
+        }
+        return board;
+    }
+
+    /**
+     * @param saved  the board saved
+     * @param loaded the board loaded back
+     * @return true if the boards have the same configuration and every cell has the same state
+     */
+    private static boolean isSameGame(Board saved, Board loaded) {
+        if (loaded == null || loaded.getWidth() != saved.getWidth() || loaded.getHeight() != saved.getHeight()
+                || loaded.getNumMines() != saved.getNumMines() || loaded.getSeed() != saved.getSeed()
+                || loaded.getSafeCell() != saved.getSafeCell() || loaded.isNoGuess() != saved.isNoGuess()
+                || loaded.getPossibleMines() != saved.getPossibleMines()) {
+            return false;
+        }
+        for (int i = 0; i < saved.getNumCells(); ++i) {
+            if (loaded.getState(i) != saved.getState(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Saves the game
+     *
+     * @throws IOException if the save file could not be written
+     */
+    @Benchmark
+    public void save() throws IOException {
+        saveFile.save(board, ELAPSED_MILLIS);
+    }
+
+    /**
+     * @return the game loaded from the save file
+     * @throws IOException if the save file could not be read
+     */
+    @Benchmark
+    public Board load() throws IOException {
+        return saveFile.load();
+    }
+
+}
@@ -0,0 +1,97 @@
+package bench;
+
+import model.Board;
+import model.BoardGenerator;
+import model.CellBatch;
+import model.Solver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Measures one step of the Solver on a board part way through a game: the board is opened from a cell touching no
+ * mines, and the safe cells the Solver finds are then revealed for a number of rounds.
+ * fresh solves the position with a new Solver, as a hint on a board never solved before would; again re-solves it
+ * with a Solver which has already solved it, as after a move which revealed nothing new to it.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SolverBenchmark {
+
+    /**
+     * Width and height of the square board
+     */
+    @Param({"100"})
+    public int size;
+
+    /**
+     * Rounds of solving and revealing played before the measured position
+     */
+    @Param({"1", "20"})
+    public int rounds;
+
+    /**
+     * Board in the measured position
+     */
+    private Board board;
+
+    /**
+     * Solver which has already solved the measured position
+     */
+    private Solver solver;
+
+    /**
+     * Plays the board up to the measured position
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        board = BoardGenerator.generate(size, size, size * size * 16 / 100, 42);
+        int start = 0;
+        while (board.isMine(start) || board.getNeighboringMines(start) != 0) ++start;
+        board.reveal(start);
+        solver = new Solver(board);
+        for (int round = 0; round < rounds; ++round) {
+            solver.solve();
+            CellBatch safe = solver.getSafeCells();
+            int[] cells = new int[safe.size()];
+            for (int i = 0; i < cells.length; ++i) {
+                cells[i] = safe.get(i);
+            }
+            for (int cell : cells) {
+                board.reveal(cell);
+            }
+        }
+        solver.solve();
+    }
+
+    /**
+     * @return the number of cells proven by a new Solver
+     */
+    @Benchmark
+    public int fresh() {
+        return new Solver(board).solve();
+    }
+
+    /**
+     * @return the number of cells proven by the Solver which has solved the position before
+     */
+    @Benchmark
+    public int again() {
+        return solver.solve();
+    }
+
+}
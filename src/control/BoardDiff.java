@@ -0,0 +1,219 @@
+package control;
+
+import model.GameState;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * The result of a batch of moves made by the GameEngine, handed to the FX Application Thread to be applied to the
+ * views. A BoardDiff is immutable: it holds copies of everything it reports, including the new state of every cell
+ * it lists, so the engine can carry on with the next moves while the FX Application Thread applies it, and the views
+ * never read the Board the engine is changing.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class BoardDiff {
+
+    /**
+     * Game the moves were made in, see GameEngine.getGeneration
+     */
+    private final int generation;
+
+    /**
+     * Cells changed by the moves, or null if so many changed that the whole board is to be redrawn
+     */
+    private final int[] cells;
+
+    /**
+     * Packed state of each cell in cells after the moves, or of every cell of the board, row-major, if cells is null
+     */
+    private final byte[] states;
+
+    /**
+     * The moves which changed the board, as pairs of a move type (MoveLog.REVEAL, MoveLog.MARK or MoveLog.CHORD)
+     * and a cell index
+     */
+    private final int[] moves;
+
+    /**
+     * State of the game before the moves
+     */
+    private final GameState oldState;
+
+    /**
+     * State of the game after the moves
+     */
+    private final GameState newState;
+
+    /**
+     * Number of bombs on the board less the number of cells flagged, after the moves
+     */
+    private final int possibleMines;
+
+    /**
+     * Cell least likely to be a bomb, suggested by a hint which could prove no cell safe, or -1
+     */
+    private final int guessCell;
+
+    /**
+     * Probability that guessCell is a bomb
+     */
+    private final double guessProbability;
+
+    /**
+     * True if guessProbability is exact, false if it is an estimate, see model.ProbabilityEngine.isExact
+     */
+    private final boolean isGuessExact;
+
+    /**
+     * Creates a BoardDiff
+     *
+     * @param generation       game the moves were made in
+     * @param cells            cells changed by the moves, or null if the whole board is to be redrawn; not copied
+     * @param states           packed state of each cell in cells after the moves, or of every cell of the board if
+     *                         cells is null; not copied
+     * @param moves            pairs of a move type and a cell index, one per move which changed the board; not copied
+     * @param oldState         state of the game before the moves
+     * @param newState         state of the game after the moves
+     * @param possibleMines    number of bombs on the board less the number of cells flagged, after the moves
+     * @param guessCell        cell least likely to be a bomb, suggested by a hint which could prove no cell safe, or -1
+     * @param guessProbability probability that guessCell is a bomb
+     * @param isGuessExact     true if guessProbability is exact, false if it is an estimate
+     */
+    BoardDiff(int generation, int[] cells, byte[] states, int[] moves, GameState oldState, GameState newState,
+              int possibleMines, int guessCell, double guessProbability, boolean isGuessExact) {
+        this.generation = generation;
+        this.cells = cells;
+        this.states = states;
+        this.moves = moves;
+        this.oldState = oldState;
+        this.newState = newState;
+        this.possibleMines = possibleMines;
+        this.guessCell = guessCell;
+        this.guessProbability = guessProbability;
+        this.isGuessExact = isGuessExact;
+    }
+
+    /**
+     * @return the game the moves were made in
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return true if so many cells changed that the whole board is to be redrawn, rather than cell by cell
+     */
+    public boolean isWholeBoard() {
+        return cells == null;
+    }
+
+    /**
+     * @return the number of cells changed, or 0 if isWholeBoard
+     */
+    public int getNumCells() {
+        return (cells != null) ? cells.length : 0;
+    }
+
+    /**
+     * @param i position in the diff, from 0 to getNumCells
+     * @return the index of a changed cell
+     */
+    public int getCell(int i) {
+        return cells[i];
+    }
+
+    /**
+     * @param i position in the diff, from 0 to getNumCells
+     * @return the packed state of a changed cell after the moves, as returned by Board.getState
+     */
+    public int getCellState(int i) {
+        return states[i] & 0xFF;
+    }
+
+    /**
+     * Copies the new state of the cells the moves changed into a copy of the board's states, or every cell's state
+     * if isWholeBoard
+     *
+     * @param boardStates packed state of every cell of the board, row-major, to be brought up to date
+     */
+    public void copyStates(byte[] boardStates) {
+        if (cells == null) {
+            System.arraycopy(states, 0, boardStates, 0, states.length);
+            return;
+        }
+        for (int i = 0; i < cells.length; ++i) {
+            boardStates[cells[i]] = states[i];
+        }
+    }
+
+    /**
+     * @return the number of moves which changed the board
+     */
+    public int getNumMoves() {
+        return moves.length / 2;
+    }
+
+    /**
+     * @param i position in the diff, from 0 to getNumMoves
+     * @return the type of a move, MoveLog.REVEAL, MoveLog.MARK or MoveLog.CHORD
+     */
+    public int getMoveType(int i) {
+        return moves[2 * i];
+    }
+
+    /**
+     * @param i position in the diff, from 0 to getNumMoves
+     * @return the index of the cell a move was made on
+     */
+    public int getMoveCell(int i) {
+        return moves[2 * i + 1];
+    }
+
+    /**
+     * @return the state of the game before the moves
+     */
+    public GameState getOldState() {
+        return oldState;
+    }
+
+    /**
+     * @return the state of the game after the moves
+     */
+    public GameState getNewState() {
+        return newState;
+    }
+
+    /**
+     * @return the number of bombs on the board less the number of cells flagged, after the moves
+     */
+    public int getPossibleMines() {
+        return possibleMines;
+    }
+
+    /**
+     * @return the cell least likely to be a bomb, suggested for the player to open by a hint which could prove no
+     * cell safe, or -1 if no hint asked for a guess
+     */
+    public int getGuessCell() {
+        return guessCell;
+    }
+
+    /**
+     * @return the probability that the guess cell is a bomb
+     */
+    public double getGuessProbability() {
+        return guessProbability;
+    }
+
+    /**
+     * @return true if the probability that the guess cell is a bomb is exact, false if it is an estimate
+     */
+    public boolean isGuessExact() {
+        return isGuessExact;
+    }
+
+}
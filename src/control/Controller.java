@@ -1,15 +1,31 @@
 package control;
 
+import javafx.event.EventHandler;
 import javafx.scene.control.Alert;
-import view.GameBoard;
-import view.ScoreBoard;
+import javafx.scene.control.DialogEvent;
+import model.Board;
+import model.ChunkedBoard;
+import model.GameClock;
+import model.GameState;
+import model.Leaderboard;
+import model.MoveLog;
+import model.SaveFile;
+import view.BoardView;
 import view.Start;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 /**
  * Kvarfordt-Tanner-Assn8
  * Created on 11/24/2016
  *
  * Controller class for the Minesweeperish project.
+ * The Controller submits the player's moves to a GameEngine, which makes them on its game-logic thread, and applies
+ * the result of each batch of moves on the FX Application Thread: it redraws the cells the moves changed, and ends
+ * the game when they have won or lost it.
  *
  * @author Tanner Kvarfordt
  * @version 1.0
@@ -18,14 +34,24 @@ import view.Start;
 public class Controller {
 
     /**
-     * The GameBoard for the current game being controlled
+     * Number of best times shown when a game is won
+     */
+    private static final int LEADERBOARD_SHOWN = 5;
+
+    /**
+     * Most time to wait for the saves still waiting to be written when the program closes, in milliseconds
+     */
+    private static final long SHUTDOWN_TIMEOUT = 5000;
+
+    /**
+     * The view of the board for the current game being controlled
      */
-    private GameBoard gameBoard;
+    private BoardView gameBoard;
 
     /**
-     * The ScoreBoard for the current game being controlled
+     * Observable state of the current game, shown by the ScoreBoard
      */
-    private ScoreBoard scoreBoard;
+    private final GameSession session;
 
     /**
      * The class containing the start method for the current game being controlled
@@ -33,73 +59,377 @@ public class Controller {
     private Start start;
 
     /**
-     * Decrement the ScoreBoard's bombsLeft counter
+     * Makes the moves of the current game on the game-logic thread
+     */
+    private final GameEngine engine;
+
+    /**
+     * Log the moves of every game are recorded to, or null
+     */
+    private MoveLog moveLog;
+
+    /**
+     * File the current game is saved to after every move so it can be resumed, or null. It is only written on the
+     * game-logic thread, which sets it to null if it cannot be written.
      */
-    public void updatePossibleBombs(int possibleBombs) {
-        scoreBoard.updateBombsLeft(possibleBombs);
-        start.setScoreBoard(scoreBoard);
+    private volatile SaveFile saveFile;
+
+    /**
+     * Leaderboard won games are added to, still being read in the background when the program has just started,
+     * or null
+     */
+    private CompletableFuture<Leaderboard> leaderboard;
+
+    /**
+     * True if every board is generated from a seed the player chose, so its times are ranked for that board alone
+     */
+    private boolean isSeeded;
+
+    /**
+     * Plays a move the solver has proven correct - to be called when the player asks for a hint. If nothing can be
+     * proven, the cell least likely to be a bomb is outlined instead, and the ScoreBoard shows how likely it is to be
+     * a bomb; opening it is left to the player. The hint is worked out on the GameEngine's game-logic thread, see
+     * GameEngine.makeHint.
+     */
+    public void showHint() {
+        if (gameBoard == null) return;
+        engine.hint();
     }
 
     /**
-     * Checks the win condition to see if the player has won
+     * Opens a cell, and any cells it cascades into, as a single move - to be called when the player clicks a cell.
+     * Marked and already opened cells are left alone. The move is made on the GameEngine's game-logic thread, and
+     * its result applied by applyDiff.
      *
-     * @return whether or not the player has won
+     * @param index index of the cell clicked
      */
-    public boolean checkForWin() {
-        return (gameBoard.getDisabledGameNodes()
-                == ((gameBoard.getGridSizeX() * gameBoard.getGridSizeY()) - gameBoard.getNumBombs()));
+    public void openCell(int index) {
+        engine.reveal(index);
     }
 
     /**
-     * Ends the game in the appropriate manner depending on a win or a loss
+     * Cycles through the series of markings on a cell - to be called when the player right clicks a cell.
+     * The move is made on the GameEngine's game-logic thread, and its result applied by applyDiff.
+     *
+     * @param index index of the cell to be marked or unmarked
+     */
+    public void markCell(int index) {
+        engine.cycleMark(index);
+    }
+
+    /**
+     * Opens every unmarked cell around a revealed number whose bombs are all flagged, and any cells they cascade
+     * into, as a single move - to be called when the player middle clicks, or clicks with both buttons, on a number.
+     * If a flag was wrong, a bomb is opened and the game is lost. The move is made on the GameEngine's game-logic
+     * thread, and its result applied by applyDiff.
+     *
+     * @param index index of the number clicked
+     */
+    public void chordCell(int index) {
+        engine.chord(index);
+    }
+
+    /**
+     * Applies the result of a batch of moves made by the GameEngine: records the moves, brings the session up to
+     * date, redraws the cells the moves changed, outlines the guess suggested by a hint, if any, and saves the game,
+     * or ends it if the moves won or lost it
+     *
+     * @param diff the result of the moves
+     */
+    private void applyDiff(BoardDiff diff) {
+        for (int i = 0; i < diff.getNumMoves(); ++i) {
+            recordMove(diff.getMoveType(i), diff.getMoveCell(i));
+        }
+        session.applyDiff(diff);
+        gameBoard.renderDiff(diff);
+        if (diff.getGuessCell() >= 0) gameBoard.showGuess(diff.getGuessCell());
+        if (diff.getNewState() != diff.getOldState()) {
+            endGame(diff.getNewState() == GameState.WON);
+        } else if (diff.getNumMoves() > 0) {
+            saveGame();
+        }
+    }
+
+    /**
+     * Records a move to the move log, if there is one. If the log cannot be written, logging is turned off.
+     *
+     * @param type  MoveLog.REVEAL, MoveLog.MARK or MoveLog.CHORD
+     * @param index index of the cell the move was made on
+     */
+    private void recordMove(int type, int index) {
+        if (moveLog == null) return;
+        try {
+            moveLog.record(type, index);
+        } catch (IOException e) {
+            System.err.println("Could not write move log " + moveLog.getPath() + ": " + e);
+            moveLog = null;
+        }
+    }
+
+    /**
+     * Writes the moves recorded so far to the move log file, if there is one. If the log cannot be written,
+     * logging is turned off.
+     */
+    private void flushMoveLog() {
+        if (moveLog == null) return;
+        try {
+            moveLog.flush();
+        } catch (IOException e) {
+            System.err.println("Could not write move log " + moveLog.getPath() + ": " + e);
+            moveLog = null;
+        }
+    }
+
+    /**
+     * Saves the current game to the save file, if there is one and a game is being played. The game is saved on
+     * the GameEngine's game-logic thread, between moves, so the Board is not changing as it is written. If the file
+     * cannot be written, saving is turned off.
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public void saveGame() {
+        if (saveFile == null || gameBoard == null || !gameBoard.isClickable()) return;
+        Board board = gameBoard.getBoard();
+        int elapsedMillis = (int) session.getElapsedMillis();
+        engine.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (saveFile == null || board.getGameState() != GameState.IN_PROGRESS) return;
+                try {
+                    saveFile.save(board, elapsedMillis);
+                } catch (IOException e) {
+                    System.err.println("Could not save game to " + saveFile.getPath() + ": " + e);
+                    saveFile = null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Deletes the saved game, if there is one - the game it holds has ended. The file is deleted on the
+     * GameEngine's game-logic thread, after any save still waiting.
+     */
+    @SuppressWarnings("Convert2Lambda")
+    private void deleteSavedGame() {
+        if (saveFile == null) return;
+        engine.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (saveFile == null) return;
+                try {
+                    saveFile.delete();
+                } catch (IOException e) {
+                    System.err.println("Could not delete saved game " + saveFile.getPath() + ": " + e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for the saves still waiting to be written and stops the GameEngine - to be called when the program
+     * closes
+     */
+    public void shutdown() {
+        engine.shutdown(SHUTDOWN_TIMEOUT);
+    }
+
+    /**
+     * Ends the game in the appropriate manner depending on a win or a loss. The result is shown without waiting for
+     * the player to close it, as endGame is called while a diff is being applied, and the game restarts once they
+     * have closed it.
      *
      * @param isWin true if the game was won by the player, false if otherwise
      */
+    @SuppressWarnings("Convert2Lambda")
     public void endGame(boolean isWin) {
+        flushMoveLog();
+        deleteSavedGame();
         if (isWin) {
             gameBoard.setClickable(false);
-            scoreBoard.stopTimer();
+            session.stopClock();
             gameBoard.markBombsOnWin();
             gameBoard.disableAllBombsAndMarkedCells();
             Alert winner = new Alert(Alert.AlertType.INFORMATION);
             winner.setTitle("Winner!");
             winner.setGraphic(null);
             winner.setHeaderText(null);
-            winner.setContentText("Congratulations! It took you " + Integer.toString(scoreBoard.getTime())
-                    + " seconds to win!");
-            winner.showAndWait();
-            restartGame();
+            winner.setContentText("Congratulations! It took you " + GameClock.format(session.getElapsedMillis())
+                    + " seconds to win!" + addToLeaderboard(gameBoard.getBoard()));
+            showResult(winner, new Runnable() {
+                @Override
+                public void run() {
+                    restartGame();
+                }
+            });
         } else {
             gameBoard.setClickable(false);
-            scoreBoard.stopTimer();
+            session.stopClock();
             gameBoard.disableAllBombsAndMarkedCells();
             Alert loser = new Alert(Alert.AlertType.INFORMATION);
             loser.setGraphic(null);
             loser.setHeaderText(null);
             loser.setTitle("You Lose!");
-            loser.setContentText("Sorry, you lose! It took you " + Integer.toString(scoreBoard.getTime())
+            loser.setContentText("Sorry, you lose! It took you " + GameClock.format(session.getElapsedMillis())
                     + " seconds to lose!");
-            loser.showAndWait();
-            restartGame();
+            showResult(loser, new Runnable() {
+                @Override
+                public void run() {
+                    restartGame();
+                }
+            });
         }
     }
 
     /**
-     * Sets gameBoard
+     * Abandons the current game after a move failed part way through, leaving its Board in no state to be played
+     * on, and tells the player; a new game starts once they have closed the message
+     *
+     * @param e the error thrown by the move
+     */
+    @SuppressWarnings("Convert2Lambda")
+    private void failGame(RuntimeException e) {
+        System.err.print("Could not make move: ");
+        e.printStackTrace();
+        flushMoveLog();
+        deleteSavedGame();
+        gameBoard.setClickable(false);
+        session.stopClock();
+        Alert error = new Alert(Alert.AlertType.ERROR);
+        error.setTitle("Error");
+        error.setHeaderText(null);
+        error.setContentText("Sorry, something went wrong and the game cannot carry on: " + e
+                + "\n\nA new game will be started.");
+        showResult(error, new Runnable() {
+            @Override
+            public void run() {
+                restartGame();
+            }
+        });
+    }
+
+    /**
+     * Adds a won game to the leaderboard, if there is one. If the leaderboard cannot be read or written, it is
+     * turned off.
+     *
+     * @param board the board of the won game
+     * @return text telling the player where the game ranks, and the best times for the board's configuration
+     */
+    private String addToLeaderboard(Board board) {
+        if (leaderboard == null) return "";
+        try {
+            Leaderboard.Config config = Leaderboard.Config.of(board, isSeeded);
+            Leaderboard scores = leaderboard.join();
+            int place = scores.add(config, (int) session.getElapsedMillis());
+            StringBuilder text = new StringBuilder();
+            if (place > 0) text.append(" That is #").append(place).append(" of your best times for this board.");
+            text.append("\n\nBest times (").append(config).append("):");
+            List<Leaderboard.Entry> best = scores.getBest(config);
+            for (int i = 0; i < Math.min(LEADERBOARD_SHOWN, best.size()); ++i) {
+                text.append("\n").append(i + 1).append(". ").append(GameClock.format(best.get(i).getElapsedMillis()))
+                        .append(" s");
+            }
+            return text.toString();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not update leaderboard: " + e);
+            leaderboard = null;
+            return "";
+        }
+    }
+
+    /**
+     * Ends an endless game - to be called when the player opens a bomb on an endless board
+     *
+     * @param board the endless board that was being played
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public void endEndlessGame(ChunkedBoard board) {
+        session.stopClock();
+        Alert loser = new Alert(Alert.AlertType.INFORMATION);
+        loser.setGraphic(null);
+        loser.setHeaderText(null);
+        loser.setTitle("You Lose!");
+        loser.setContentText("Sorry, you lose! You opened " + Long.toString(board.getRevealedCells())
+                + " cells in " + GameClock.format(session.getElapsedMillis()) + " seconds!");
+        showResult(loser, new Runnable() {
+            @Override
+            public void run() {
+                start.startEndlessGame();
+            }
+        });
+    }
+
+    /**
+     * Shows the result of a game and returns straight away, rather than running a nested event loop until the
+     * player closes it as showAndWait would
+     *
+     * @param result the Alert showing the result
+     * @param next   run on the FX Application Thread once the player has closed the Alert, e.g. to start a new game
+     */
+    @SuppressWarnings("Convert2Lambda")
+    private void showResult(Alert result, Runnable next) {
+        result.setOnHidden(new EventHandler<DialogEvent>() {
+            @Override
+            public void handle(DialogEvent event) {
+                next.run();
+            }
+        });
+        result.show();
+    }
+
+    /**
+     * Sets gameBoard, and starts the session following its board with the clock stopped at 0
      *
-     * @param gameBoard the GameBoard for the current game being controlled
+     * @param gameBoard the view of the board for the current game being controlled
      */
-    public void setGameBoard(GameBoard gameBoard) {
+    public void setGameBoard(BoardView gameBoard) {
+        Board board = gameBoard.getBoard();
         this.gameBoard = gameBoard;
+        session.setBoard(board);
+        engine.setBoard(board);
+        if (moveLog != null) moveLog.startGame(board);
+    }
+
+    /**
+     * Drops the moves still waiting to be made and waits for the move being made, if any - to be called before the
+     * Board of the current game is reset in place for a new game
+     */
+    public void discardMoves() {
+        engine.discardMoves();
+    }
+
+    /**
+     * @return the observable state of the current game
+     */
+    public GameSession getSession() {
+        return session;
+    }
+
+    /**
+     * Sets moveLog
+     *
+     * @param moveLog log the moves of every game are to be recorded to, or null to record nothing
+     */
+    public void setMoveLog(MoveLog moveLog) {
+        this.moveLog = moveLog;
+    }
+
+    /**
+     * Sets saveFile
+     *
+     * @param saveFile file the current game is to be saved to after every move, or null to save nothing
+     */
+    public void setSaveFile(SaveFile saveFile) {
+        this.saveFile = saveFile;
     }
 
     /**
-     * Sets scoreBoard
+     * Sets the leaderboard won games are added to
      *
-     * @param scoreBoard the ScoreBoard for the current game being controlled
+     * @param leaderboard the leaderboard, which may still be being read, or null to keep no scores
+     * @param isSeeded    true if every board is generated from a seed the player chose
      */
-    public void setScoreBoard(ScoreBoard scoreBoard) {
-        this.scoreBoard = scoreBoard;
+    public void setLeaderboard(CompletableFuture<Leaderboard> leaderboard, boolean isSeeded) {
+        this.leaderboard = leaderboard;
+        this.isSeeded = isSeeded;
     }
 
     /**
@@ -112,19 +442,36 @@ public class Controller {
     }
 
     /**
-     * Empty constructor to create an instance of Controller
+     * Creates a Controller with an empty GameSession, and the GameEngine to make moves with
      */
+    @SuppressWarnings("Convert2Lambda")
     public Controller() {
+        session = new GameSession();
+        engine = new GameEngine(new Consumer<BoardDiff>() {
+            @Override
+            public void accept(BoardDiff diff) {
+                applyDiff(diff);
+            }
+        }, new Consumer<RuntimeException>() {
+            @Override
+            public void accept(RuntimeException e) {
+                failGame(e);
+            }
+        });
     }
 
     /**
-     * Restarts the game
+     * Restarts the game, once the board of the next game is ready, see Start.prepareNextBoard
      */
+    @SuppressWarnings("Convert2Lambda")
     public void restartGame() {
-        gameBoard = new GameBoard(this);
-        scoreBoard = new ScoreBoard(gameBoard.getPossibleBombs(), this);
-        start.setGameBoard(gameBoard);
-        start.setScoreBoard(scoreBoard);
+        start.prepareNextBoard(new Consumer<BoardView>() {
+            @Override
+            public void accept(BoardView view) {
+                setGameBoard(view);
+                start.setGameBoard(view);
+            }
+        });
     }
 
 }
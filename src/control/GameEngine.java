@@ -0,0 +1,564 @@
+package control;
+
+import javafx.application.Platform;
+import model.Board;
+import model.CellBatch;
+import model.GameState;
+import model.MoveLog;
+import model.ProbabilityEngine;
+import model.Solver;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Makes the moves of the current game on a dedicated game-logic thread, so a large cascade or a slow hint never
+ * holds up the FX Application Thread.
+ *
+ * The FX Application Thread submits moves to a lock-free queue and returns straight away. The game-logic thread is
+ * the only thread which changes the Board while a game is being played: it drains the queue, making every move in
+ * it in the order submitted, and then hands the result of the whole batch to the FX Application Thread as a single
+ * immutable BoardDiff. Clicks which arrive during a long move are therefore coalesced into the next batch rather
+ * than queued up behind it as separate updates; each is still made in order, against the board as the moves before
+ * it left it, so a cell clicked twice is only opened once and a cell marked twice is marked twice.
+ *
+ * A move which throws leaves the Board part way through a change, so nothing of its batch is published: the whole
+ * game is failed, the rest of its moves are dropped, and the error is handed to the FX Application Thread to be
+ * reported. A task which throws is handed to the game-logic thread's uncaught exception handler.
+ *
+ * Each game is a generation. Moves submitted for an earlier generation, and diffs of an earlier generation which
+ * have not been applied yet, are dropped, so nothing from a finished game reaches the next one.
+ * The FX Application Thread never reads the Board while the engine may be changing it: each diff carries the new
+ * state of every cell it lists, or a snapshot of the whole board, taken on the game-logic thread, and the views draw
+ * from their own copy of the states which the diffs bring up to date. Platform.runLater hands each diff over, so
+ * everything in it is visible to the FX Application Thread.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public class GameEngine {
+
+    /**
+     * Most cells a diff lists one by one; a batch which changes more carries a snapshot of the whole board instead.
+     * Listed cells are drawn progressively (see view.DirtyCells), so the limit only bounds the diff's memory.
+     */
+    private static final int MAX_DIFF_CELLS = 1 << 22;
+
+    /**
+     * Command type asking for a hint
+     */
+    private static final int HINT = -1;
+
+    /**
+     * Command type running a task on the game-logic thread
+     */
+    private static final int TASK = -2;
+
+    /**
+     * Commands waiting to be run
+     */
+    private final ConcurrentLinkedQueue<Command> commands;
+
+    /**
+     * True while a drain of commands is scheduled or running
+     */
+    private final AtomicBoolean isDraining;
+
+    /**
+     * The game-logic thread
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Receives each diff on the FX Application Thread
+     */
+    private final Consumer<BoardDiff> receiver;
+
+    /**
+     * Receives the error which failed a game on the FX Application Thread
+     */
+    private final Consumer<RuntimeException> errorReceiver;
+
+    /**
+     * Cells changed by the batch being made; only touched by the game-logic thread
+     */
+    private final CellBatch changed;
+
+    /**
+     * Moves which changed the board in the batch being made, as pairs of a type and a cell index; only touched by
+     * the game-logic thread
+     */
+    private final CellBatch moves;
+
+    /**
+     * Board of the current game; only touched by the FX Application Thread
+     */
+    private Board board;
+
+    /**
+     * Current game; only written by the FX Application Thread
+     */
+    private volatile int generation;
+
+    /**
+     * Board the batch being made is made on, or null if no batch is being made; only touched by the game-logic
+     * thread
+     */
+    private Board batchBoard;
+
+    /**
+     * Game the batch being made is made in; only touched by the game-logic thread
+     */
+    private int batchGeneration;
+
+    /**
+     * Cell suggested by a hint in the batch being made which could prove no cell safe, or -1; only touched by the
+     * game-logic thread
+     */
+    private int batchGuessCell;
+
+    /**
+     * Probability that batchGuessCell is a bomb; only touched by the game-logic thread
+     */
+    private double batchGuessProbability;
+
+    /**
+     * True if batchGuessProbability is exact; only touched by the game-logic thread
+     */
+    private boolean isBatchGuessExact;
+
+    /**
+     * Last game failed by a move which threw, whose moves are all dropped; only touched by the game-logic thread
+     */
+    private int failedGeneration;
+
+    /**
+     * State of the game before the batch being made; only touched by the game-logic thread
+     */
+    private GameState batchOldState;
+
+    /**
+     * Solver for the board of the current game, kept between hints so each hint only re-examines what has changed;
+     * only touched by the game-logic thread
+     */
+    private Solver solver;
+
+    /**
+     * Probability engine for the board of the current game, sharing solver; only touched by the game-logic thread
+     */
+    private ProbabilityEngine probabilityEngine;
+
+    /**
+     * Creates a GameEngine with no game, and its game-logic thread
+     *
+     * @param receiver      receives each diff on the FX Application Thread
+     * @param errorReceiver receives the error thrown by a move on the FX Application Thread; the game the move was
+     *                      made in is over, and its Board is to be reset before it is played again
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public GameEngine(Consumer<BoardDiff> receiver, Consumer<RuntimeException> errorReceiver) {
+        this.receiver = receiver;
+        this.errorReceiver = errorReceiver;
+        failedGeneration = -1;
+        batchGuessCell = -1;
+        commands = new ConcurrentLinkedQueue<>();
+        isDraining = new AtomicBoolean();
+        changed = new CellBatch(64);
+        moves = new CellBatch(16);
+        executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "game-logic");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Starts a new game on a board, dropping any moves still waiting from the last one - to be called on the FX
+     * Application Thread once the board is ready to be played
+     *
+     * @param board board of the new game, which may be the board of the last game reset in place
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public void setBoard(Board board) {
+        this.board = board;
+        ++generation;
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                if (solver != null && solver.getBoard() == board) solver.reset();
+            }
+        });
+    }
+
+    /**
+     * Drops the moves still waiting and waits for the move being made, if any, to finish - to be called on the FX
+     * Application Thread before the Board is changed by anything but the engine, e.g. reset in place for a new game
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public void discardMoves() {
+        ++generation;
+        try {
+            executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the current game; a diff of any other game is stale
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Opens a cell, and any cells it cascades into, as a single move
+     *
+     * @param index index of the cell
+     */
+    public void reveal(int index) {
+        submit(new Command(MoveLog.REVEAL, index, board, generation, null));
+    }
+
+    /**
+     * Cycles through the series of markings on a cell
+     *
+     * @param index index of the cell
+     */
+    public void cycleMark(int index) {
+        submit(new Command(MoveLog.MARK, index, board, generation, null));
+    }
+
+    /**
+     * Opens every unmarked cell around a revealed number whose bombs are all flagged, and any cells they cascade
+     * into, as a single move
+     *
+     * @param index index of the number
+     */
+    public void chord(int index) {
+        submit(new Command(MoveLog.CHORD, index, board, generation, null));
+    }
+
+    /**
+     * Plays a move the solver has proven correct, or suggests a guess if there is none, see makeHint
+     */
+    public void hint() {
+        submit(new Command(HINT, -1, board, generation, null));
+    }
+
+    /**
+     * Runs a task on the game-logic thread, between moves, whatever game it is submitted in - e.g. to save the
+     * board while nothing is changing it
+     *
+     * @param task the task
+     */
+    public void execute(Runnable task) {
+        submit(new Command(TASK, -1, board, generation, task));
+    }
+
+    /**
+     * Runs the tasks still waiting and stops the game-logic thread - to be called when the program closes
+     *
+     * @param timeoutMillis most time to wait for the tasks, in milliseconds
+     */
+    public void shutdown(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues a command and schedules a drain if none is scheduled
+     *
+     * @param command the command
+     */
+    @SuppressWarnings("Convert2Lambda")
+    private void submit(Command command) {
+        commands.add(command);
+        if (isDraining.compareAndSet(false, true)) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    drain();
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs every command in the queue on the game-logic thread. The moves of each game are made as one batch, whose
+     * diff is published once the queue is empty; moves of a game which is no longer current are dropped.
+     */
+    private void drain() {
+        do {
+            Command command;
+            while ((command = commands.poll()) != null) {
+                if (command.type != TASK) {
+                    if (command.generation != generation || command.generation == failedGeneration
+                            || command.board == null) {
+                        continue;
+                    }
+                    if (batchBoard == null || command.generation != batchGeneration) {
+                        publishBatch();
+                        batchBoard = command.board;
+                        batchGeneration = command.generation;
+                        batchOldState = batchBoard.getGameState();
+                    }
+                }
+                try {
+                    if (command.type == TASK) {
+                        command.task.run();
+                    } else if (command.type == HINT) {
+                        makeHint(batchBoard);
+                    } else if (command.type == MoveLog.REVEAL) {
+                        reveal(batchBoard, command.index);
+                    } else if (command.type == MoveLog.CHORD) {
+                        chord(batchBoard, command.index);
+                    } else {
+                        cycleMark(batchBoard, command.index);
+                    }
+                } catch (RuntimeException e) {
+                    if (command.type == TASK) {
+                        Thread thread = Thread.currentThread();
+                        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                    } else {
+                        failBatch(e);
+                    }
+                }
+            }
+            publishBatch();
+            isDraining.set(false);
+            // A command queued after the queue was found empty but before the flag was cleared is drained here
+        } while (!commands.isEmpty() && isDraining.compareAndSet(false, true));
+    }
+
+    /**
+     * Opens a cell and records the move if it changed anything
+     *
+     * @param board board of the current game
+     * @param index index of the cell
+     */
+    private void reveal(Board board, int index) {
+        addMove(MoveLog.REVEAL, index, board.reveal(index));
+    }
+
+    /**
+     * Chords a revealed number and records the move if it changed anything
+     *
+     * @param board board of the current game
+     * @param index index of the number
+     */
+    private void chord(Board board, int index) {
+        addMove(MoveLog.CHORD, index, board.chord(index));
+    }
+
+    /**
+     * Records a move which revealed cells, adding them to changed; a move which revealed nothing is left out
+     *
+     * @param type     MoveLog.REVEAL or MoveLog.CHORD
+     * @param index    index of the cell the move was made on
+     * @param revealed the cells the move revealed
+     */
+    private void addMove(int type, int index, CellBatch revealed) {
+        if (revealed.isEmpty()) return;
+        batchGuessCell = -1;
+        moves.add(type);
+        moves.add(index);
+        // Past MAX_DIFF_CELLS the diff redraws the whole board, so the cells are no longer needed
+        for (int i = 0; i < revealed.size() && changed.size() <= MAX_DIFF_CELLS; ++i) {
+            changed.add(revealed.get(i));
+        }
+    }
+
+    /**
+     * Cycles the marking of a cell and records the move if it changed anything
+     *
+     * @param board board of the current game
+     * @param index index of the cell
+     */
+    private void cycleMark(Board board, int index) {
+        int before = board.getState(index);
+        board.cycleMark(index);
+        if (board.getState(index) == before) return;
+        batchGuessCell = -1;
+        moves.add(MoveLog.MARK);
+        moves.add(index);
+        if (changed.size() <= MAX_DIFF_CELLS) changed.add(index);
+    }
+
+    /**
+     * Plays a move the solver has proven correct. A cell proven safe is opened if there is one, otherwise a cell
+     * proven to be a bomb is flagged. If the numbers showing prove nothing, no move is made: the cell least likely
+     * to be a bomb is suggested in the batch's diff instead, as opening it could still lose the game, and the guess
+     * is left to the player. A move made after the hint in the same batch drops the suggestion.
+     *
+     * @param board board of the current game
+     */
+    private void makeHint(Board board) {
+        if (board.getGameState() != GameState.IN_PROGRESS) return;
+        if (solver == null || solver.getBoard() != board) {
+            solver = new Solver(board);
+            probabilityEngine = new ProbabilityEngine(solver);
+        }
+        solver.solve();
+        CellBatch safeCells = solver.getSafeCells();
+        for (int i = 0; i < safeCells.size(); ++i) {
+            int index = safeCells.get(i);
+            if (!board.isFlagged(index) && !board.isQuestioned(index)) {
+                reveal(board, index);
+                return;
+            }
+        }
+        CellBatch mineCells = solver.getMineCells();
+        for (int i = 0; i < mineCells.size(); ++i) {
+            int index = mineCells.get(i);
+            if (!board.isFlagged(index) && !board.isQuestioned(index)) {
+                cycleMark(board, index);
+                return;
+            }
+        }
+        probabilityEngine.compute();
+        int safest = probabilityEngine.getSafestCell();
+        if (safest < 0) return;
+        batchGuessCell = safest;
+        batchGuessProbability = probabilityEngine.getProbability(safest);
+        isBatchGuessExact = probabilityEngine.isExact();
+    }
+
+    /**
+     * Fails the game of the batch being made after one of its moves threw: the batch is dropped unpublished, as the
+     * Board is part way through a change, the game's remaining moves are dropped, and the error is handed to the
+     * error receiver on the FX Application Thread, unless a new game has started by the time it gets there. Leaves
+     * no batch being made.
+     *
+     * @param e the error thrown by the move
+     */
+    @SuppressWarnings("Convert2Lambda")
+    private void failBatch(RuntimeException e) {
+        int failed = batchGeneration;
+        failedGeneration = failed;
+        batchBoard = null;
+        batchGuessCell = -1;
+        changed.clear();
+        moves.clear();
+        Platform.runLater(new Runnable() {
+            @Override
+            public void run() {
+                if (failed == GameEngine.this.generation) errorReceiver.accept(e);
+            }
+        });
+    }
+
+    /**
+     * Copies the batch just made, if it changed anything, into a BoardDiff and hands it to the receiver on the FX
+     * Application Thread, unless a new game has started by the time it gets there. Leaves no batch being made.
+     */
+    @SuppressWarnings("Convert2Lambda")
+    private void publishBatch() {
+        if (batchBoard == null) return;
+        Board board = batchBoard;
+        batchBoard = null;
+        int guessCell = batchGuessCell;
+        batchGuessCell = -1;
+        if (changed.isEmpty() && moves.isEmpty() && guessCell < 0) return;
+        int[] cells = null;
+        byte[] states;
+        if (changed.size() <= MAX_DIFF_CELLS) {
+            cells = new int[changed.size()];
+            states = new byte[cells.length];
+            for (int i = 0; i < cells.length; ++i) {
+                cells[i] = changed.get(i);
+                states[i] = (byte) board.getState(cells[i]);
+            }
+        } else {
+            states = new byte[board.getNumCells()];
+            board.copyStates(states);
+        }
+        int[] moveArray = new int[moves.size()];
+        for (int i = 0; i < moveArray.length; ++i) {
+            moveArray[i] = moves.get(i);
+        }
+        changed.clear();
+        moves.clear();
+        BoardDiff diff = new BoardDiff(batchGeneration, cells, states, moveArray, batchOldState,
+                board.getGameState(), board.getPossibleMines(), guessCell, batchGuessProbability,
+                isBatchGuessExact);
+        Platform.runLater(new Runnable() {
+            @Override
+            public void run() {
+                if (diff.getGeneration() == GameEngine.this.generation) receiver.accept(diff);
+            }
+        });
+    }
+
+    /**
+     * A move, hint or task waiting to be run on the game-logic thread
+     */
+    private static final class Command {
+
+        /**
+         * MoveLog.REVEAL, MoveLog.MARK, MoveLog.CHORD, HINT or TASK
+         */
+        private final int type;
+
+        /**
+         * Index of the cell the move is made on, or -1
+         */
+        private final int index;
+
+        /**
+         * Board of the game the command was submitted in, or null
+         */
+        private final Board board;
+
+        /**
+         * Game the command was submitted in
+         */
+        private final int generation;
+
+        /**
+         * The task to run, or null
+         */
+        private final Runnable task;
+
+        /**
+         * Creates a Command
+         *
+         * @param type       MoveLog.REVEAL, MoveLog.MARK, MoveLog.CHORD, HINT or TASK
+         * @param index      index of the cell the move is made on, or -1
+         * @param board      board of the game the command was submitted in, or null
+         * @param generation game the command was submitted in
+         * @param task       the task to run, or null
+         */
+        Command(int type, int index, Board board, int generation, Runnable task) {
+            this.type = type;
+            this.index = index;
+            this.board = board;
+            this.generation = generation;
+            this.task = task;
+        }
+    }
+
+}
@@ -0,0 +1,245 @@
+package control;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import model.Board;
+import model.GameClock;
+import model.GameState;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * The state of the game being played which the ScoreBoard shows, as observable properties: the number of bombs
+ * left unflagged, the time played, the state of the game, whether the clock is running, the seed of the board and
+ * how likely the guess suggested by the last hint, if any, is to be a bomb.
+ * The Controller hands the session the result of each batch of moves, and the session keeps the properties up to
+ * date, so views bind to them once and a move only updates what it changed.
+ *
+ * The time is kept by a GameClock. While it runs, an AnimationTimer refreshes the time property whenever another
+ * tenth of a second has passed; when it stops, the property is set to the exact time.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public class GameSession {
+
+    /**
+     * Number of bombs on the board less the number of cells flagged
+     */
+    private final ReadOnlyIntegerWrapper minesLeft;
+
+    /**
+     * Time played in milliseconds, refreshed every tenth of a second while the clock runs
+     */
+    private final ReadOnlyLongWrapper time;
+
+    /**
+     * State of the game being played
+     */
+    private final ReadOnlyObjectWrapper<GameState> state;
+
+    /**
+     * True while the clock is running, i.e. while a game is being played
+     */
+    private final ReadOnlyBooleanWrapper running;
+
+    /**
+     * Seed the board of the game was generated from
+     */
+    private final ReadOnlyLongWrapper seed;
+
+    /**
+     * Probability that the cell suggested by the last hint is a bomb, or NaN if no guess is suggested
+     */
+    private final ReadOnlyDoubleWrapper guessProbability;
+
+    /**
+     * True if guessProbability is exact, false if it is an estimate
+     */
+    private final ReadOnlyBooleanWrapper guessExact;
+
+    /**
+     * Measures the time played
+     */
+    private final GameClock clock;
+
+    /**
+     * Refreshes time once a frame while the clock runs; created when the clock is first started
+     */
+    private AnimationTimer ticker;
+
+    /**
+     * Creates a GameSession with no game
+     */
+    public GameSession() {
+        minesLeft = new ReadOnlyIntegerWrapper(this, "minesLeft");
+        time = new ReadOnlyLongWrapper(this, "time");
+        state = new ReadOnlyObjectWrapper<>(this, "state", GameState.IN_PROGRESS);
+        running = new ReadOnlyBooleanWrapper(this, "running");
+        seed = new ReadOnlyLongWrapper(this, "seed");
+        guessProbability = new ReadOnlyDoubleWrapper(this, "guessProbability", Double.NaN);
+        guessExact = new ReadOnlyBooleanWrapper(this, "guessExact");
+        clock = new GameClock();
+    }
+
+    /**
+     * Starts following a new game, with the clock stopped at 0
+     *
+     * @param board board of the new game, which may be the board of the last game reset in place
+     */
+    public void setBoard(Board board) {
+        minesLeft.set(board.getPossibleMines());
+        state.set(board.getGameState());
+        seed.set(board.getSeed());
+        guessProbability.set(Double.NaN);
+        resetClock();
+    }
+
+    /**
+     * Starts following a new endless game, with the clock stopped at 0
+     *
+     * @param seed seed the endless board is generated from
+     */
+    public void setEndlessBoard(long seed) {
+        minesLeft.set(0);
+        state.set(GameState.IN_PROGRESS);
+        this.seed.set(seed);
+        guessProbability.set(Double.NaN);
+        resetClock();
+    }
+
+    /**
+     * Starts the clock, carrying on from the time it reads
+     */
+    public void startClock() {
+        if (clock.isRunning()) return;
+        clock.start();
+        running.set(true);
+        if (ticker == null) {
+            ticker = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    long millis = clock.getElapsedMillis();
+                    if (millis / 100 != time.get() / 100) time.set(millis);
+                }
+            };
+        }
+        ticker.start();
+    }
+
+    /**
+     * Stops the clock, setting time to the exact time played
+     */
+    public void stopClock() {
+        if (!clock.isRunning()) return;
+        clock.stop();
+        ticker.stop();
+        time.set(clock.getElapsedMillis());
+        running.set(false);
+    }
+
+    /**
+     * Stops the clock and sets it back to 0
+     */
+    private void resetClock() {
+        stopClock();
+        clock.setElapsedMillis(0);
+        time.set(0);
+    }
+
+    /**
+     * @return the exact time played, in milliseconds
+     */
+    public long getElapsedMillis() {
+        return clock.getElapsedMillis();
+    }
+
+    /**
+     * Sets the time played, e.g. to carry on from a saved game before the clock is started
+     *
+     * @param millis the time in milliseconds
+     */
+    public void setElapsedMillis(long millis) {
+        clock.setElapsedMillis(millis);
+        time.set(millis);
+    }
+
+    /**
+     * @return the number of bombs on the board less the number of cells flagged
+     */
+    public ReadOnlyIntegerProperty minesLeftProperty() {
+        return minesLeft.getReadOnlyProperty();
+    }
+
+    /**
+     * @return the time played in milliseconds, refreshed every tenth of a second while the clock runs
+     */
+    public ReadOnlyLongProperty timeProperty() {
+        return time.getReadOnlyProperty();
+    }
+
+    /**
+     * @return the state of the game being played
+     */
+    public ReadOnlyObjectProperty<GameState> stateProperty() {
+        return state.getReadOnlyProperty();
+    }
+
+    /**
+     * @return true while the clock is running, i.e. while a game is being played
+     */
+    public ReadOnlyBooleanProperty runningProperty() {
+        return running.getReadOnlyProperty();
+    }
+
+    /**
+     * @return the seed the board of the game was generated from
+     */
+    public ReadOnlyLongProperty seedProperty() {
+        return seed.getReadOnlyProperty();
+    }
+
+    /**
+     * @return the probability that the cell suggested by the last hint is a bomb, or NaN if no guess is suggested;
+     * a move clears the suggestion
+     */
+    public ReadOnlyDoubleProperty guessProbabilityProperty() {
+        return guessProbability.getReadOnlyProperty();
+    }
+
+    /**
+     * @return true if the probability that the suggested cell is a bomb is exact, false if it is an estimate
+     */
+    public ReadOnlyBooleanProperty guessExactProperty() {
+        return guessExact.getReadOnlyProperty();
+    }
+
+    /**
+     * Updates minesLeft, state and the suggested guess after a batch of moves; each only notifies its listeners if
+     * the moves changed it, e.g. minesLeft if they flagged or unflagged a cell
+     *
+     * @param diff the result of the moves
+     */
+    public void applyDiff(BoardDiff diff) {
+        minesLeft.set(diff.getPossibleMines());
+        state.set(diff.getNewState());
+        if (diff.getGuessCell() >= 0) {
+            guessExact.set(diff.isGuessExact());
+            guessProbability.set(diff.getGuessProbability());
+        } else if (diff.getNumMoves() > 0) {
+            guessProbability.set(Double.NaN);
+        }
+    }
+
+}
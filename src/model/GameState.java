@@ -0,0 +1,29 @@
+package model;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * The states a game on a Board can be in. A game starts IN_PROGRESS and moves to WON or LOST exactly once.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+public enum GameState {
+
+    /**
+     * The player is still making moves
+     */
+    IN_PROGRESS,
+
+    /**
+     * Every safe cell has been revealed
+     */
+    WON,
+
+    /**
+     * A mine has been revealed
+     */
+    LOST
+
+}
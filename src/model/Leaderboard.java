@@ -0,0 +1,358 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Keeps the best times of won games, per board configuration.
+ *
+ * Every win is appended to a log file as a fixed-size record, so nothing is ever rewritten and a write cut short can
+ * only lose the record being written. In memory, each configuration keeps only its best times, sorted, so the best
+ * times for a configuration are a single map lookup. When a Leaderboard is opened the log is memory-mapped and read
+ * straight through; most records are slower than the worst time kept for their configuration and are dropped after
+ * one comparison, so hundreds of thousands of games are read in a few tens of milliseconds.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Leaderboard {
+
+    /**
+     * Size of a record in bytes: width, height, number of mines and flags (ints), seed (long), elapsed milliseconds
+     * (int) and the wall clock time the game was won at (long)
+     */
+    private static final int RECORD_SIZE = 4 + 4 + 4 + 4 + 8 + 4 + 8;
+
+    /**
+     * Record flag of a board which could be won without guessing
+     */
+    private static final int NO_GUESS = 1;
+
+    /**
+     * Record flag of a board generated from a seed the player chose
+     */
+    private static final int SEEDED = 2;
+
+    /**
+     * The log file
+     */
+    private final Path path;
+
+    /**
+     * Number of times kept per configuration
+     */
+    private final int size;
+
+    /**
+     * Best times of each configuration, fastest first
+     */
+    private final HashMap<Config, List<Entry>> best;
+
+    /**
+     * Unmodifiable views of best's lists, handed out by getBest
+     */
+    private final HashMap<Config, List<Entry>> views;
+
+    /**
+     * Number of games in the log
+     */
+    private int numGames;
+
+    /**
+     * Opens a leaderboard, reading every game in its log
+     *
+     * @param path the log file, which is created along with its directory when the first game is added
+     * @param size number of times to keep per configuration, e.g. 100
+     * @throws IOException if the log exists but cannot be read
+     */
+    public Leaderboard(Path path, int size) throws IOException {
+        this.path = path;
+        this.size = size;
+        best = new HashMap<>();
+        views = new HashMap<>();
+        if (!Files.exists(path)) return;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // A partial record at the end, from a write cut short, is ignored
+            long length = channel.size() - channel.size() % RECORD_SIZE;
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            Config key = new Config(0, 0, 0, false, null);
+            while (data.hasRemaining()) {
+                key.width = data.getInt();
+                key.height = data.getInt();
+                key.numMines = data.getInt();
+                int flags = data.getInt();
+                key.noGuess = (flags & NO_GUESS) != 0;
+                long seed = data.getLong();
+                key.seed = (flags & SEEDED) != 0 ? Long.valueOf(seed) : null;
+                key.hash = key.computeHash();
+                int elapsedMillis = data.getInt();
+                long wonAt = data.getLong();
+                ++numGames;
+                List<Entry> entries = best.get(key);
+                if (entries != null && entries.size() == size
+                        && compare(elapsedMillis, wonAt, entries.get(size - 1)) >= 0) {
+                    continue;
+                }
+                if (entries == null) {
+                    Config stored = new Config(key.width, key.height, key.numMines, key.noGuess, key.seed);
+                    entries = listFor(stored);
+                }
+                insert(entries, new Entry(elapsedMillis, wonAt));
+            }
+        }
+    }
+
+    /**
+     * @return the log file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return the number of games in the log
+     */
+    public int getNumGames() {
+        return numGames;
+    }
+
+    /**
+     * Adds a won game to the log and to its configuration's best times
+     *
+     * @param config        configuration of the game's board
+     * @param elapsedMillis time the game took to win, in milliseconds
+     * @return the game's place among its configuration's best times, from 1, or 0 if it is not among them
+     * @throws IOException if the log cannot be written
+     */
+    public int add(Config config, int elapsedMillis) throws IOException {
+        long wonAt = System.currentTimeMillis();
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putInt(config.width).putInt(config.height).putInt(config.numMines)
+                .putInt((config.noGuess ? NO_GUESS : 0) | (config.seed != null ? SEEDED : 0))
+                .putLong(config.seed != null ? config.seed : 0).putInt(elapsedMillis).putLong(wonAt);
+        record.flip();
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        }
+        ++numGames;
+
+        List<Entry> entries = best.get(config);
+        if (entries == null) entries = listFor(config);
+        return insert(entries, new Entry(elapsedMillis, wonAt)) + 1;
+    }
+
+    /**
+     * @param config a board configuration
+     * @return the best times of the configuration, fastest first; the list is kept up to date as games are added
+     */
+    public List<Entry> getBest(Config config) {
+        List<Entry> view = views.get(config);
+        return view != null ? view : Collections.<Entry>emptyList();
+    }
+
+    /**
+     * Creates the list of best times of a configuration
+     *
+     * @param config the configuration, which is kept as the list's key
+     * @return the new, empty list
+     */
+    private List<Entry> listFor(Config config) {
+        List<Entry> entries = new ArrayList<>(Math.min(size, 16));
+        best.put(config, entries);
+        views.put(config, Collections.unmodifiableList(entries));
+        return entries;
+    }
+
+    /**
+     * Inserts an entry into a list of best times, dropping the slowest if the list is full
+     *
+     * @param entries the list of best times
+     * @param entry   the entry to insert
+     * @return the index the entry was inserted at, or -1 if it was too slow to be kept
+     */
+    private int insert(List<Entry> entries, Entry entry) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(entry.elapsedMillis, entry.wonAt, entries.get(mid)) < 0) high = mid;
+            else low = mid + 1;
+        }
+        if (low >= size) return -1;
+        if (entries.size() == size) entries.remove(size - 1);
+        entries.add(low, entry);
+        return low;
+    }
+
+    /**
+     * Orders games by time taken, then by when they were won
+     *
+     * @param elapsedMillis time one game took
+     * @param wonAt         wall clock time the game was won at
+     * @param other         another game
+     * @return a negative number if the game ranks above other, 0 if they are tied, or a positive number if below
+     */
+    private static int compare(int elapsedMillis, long wonAt, Entry other) {
+        int byTime = Integer.compare(elapsedMillis, other.elapsedMillis);
+        return byTime != 0 ? byTime : Long.compare(wonAt, other.wonAt);
+    }
+
+    /**
+     * A board configuration games are ranked within: the size, the number of mines, whether it could be won without
+     * guessing and, for boards generated from a seed the player chose, the seed
+     */
+    public static final class Config {
+
+        /**
+         * Number of columns
+         */
+        private int width;
+
+        /**
+         * Number of rows
+         */
+        private int height;
+
+        /**
+         * Number of mines
+         */
+        private int numMines;
+
+        /**
+         * True for boards which can be won without guessing
+         */
+        private boolean noGuess;
+
+        /**
+         * Seed the board was generated from if the player chose it, otherwise null
+         */
+        private Long seed;
+
+        /**
+         * Cached hash code
+         */
+        private int hash;
+
+        /**
+         * Creates a Config
+         *
+         * @param width    number of columns
+         * @param height   number of rows
+         * @param numMines number of mines
+         * @param noGuess  true for boards which can be won without guessing
+         * @param seed     seed the board was generated from if the player chose it, otherwise null
+         */
+        public Config(int width, int height, int numMines, boolean noGuess, Long seed) {
+            this.width = width;
+            this.height = height;
+            this.numMines = numMines;
+            this.noGuess = noGuess;
+            this.seed = seed;
+            hash = computeHash();
+        }
+
+        /**
+         * Works out the configuration of a board
+         *
+         * @param board  the board
+         * @param seeded true if the board was generated from a seed the player chose
+         * @return the board's configuration
+         */
+        public static Config of(Board board, boolean seeded) {
+            return new Config(board.getWidth(), board.getHeight(), board.getNumMines(), board.isNoGuess(),
+                    seeded ? Long.valueOf(board.getSeed()) : null);
+        }
+
+        /**
+         * @return the hash code of the fields
+         */
+        private int computeHash() {
+            int h = width;
+            h = 31 * h + height;
+            h = 31 * h + numMines;
+            h = 31 * h + (noGuess ? 1 : 0);
+            return 31 * h + (seed != null ? seed.hashCode() : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Config)) return false;
+            Config other = (Config) o;
+            return width == other.width && height == other.height && numMines == other.numMines
+                    && noGuess == other.noGuess && Objects.equals(seed, other.seed);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return width + "x" + height + ", " + numMines + " mines" + (noGuess ? ", no guessing" : "")
+                    + (seed != null ? ", seed " + seed : "");
+        }
+    }
+
+    /**
+     * A won game in a configuration's best times
+     */
+    public static final class Entry {
+
+        /**
+         * Time the game took to win, in milliseconds
+         */
+        private final int elapsedMillis;
+
+        /**
+         * Wall clock time the game was won at, in milliseconds since the epoch
+         */
+        private final long wonAt;
+
+        /**
+         * Creates an Entry
+         *
+         * @param elapsedMillis time the game took to win, in milliseconds
+         * @param wonAt         wall clock time the game was won at, in milliseconds since the epoch
+         */
+        Entry(int elapsedMillis, long wonAt) {
+            this.elapsedMillis = elapsedMillis;
+            this.wonAt = wonAt;
+        }
+
+        /**
+         * @return the time the game took to win, in milliseconds
+         */
+        public int getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * @return the wall clock time the game was won at, in milliseconds since the epoch
+         */
+        public long getWonAt() {
+            return wonAt;
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * A seeded pseudo-random permutation of [0, numCells), used to lay out mines: mine i goes in cell cellOf(i).
+ * The permutation is a four round Feistel network over the smallest even power of two covering numCells, keyed
+ * from a SplittableRandom, and cycle-walked so every output lands back in range. The same seed always gives the same
+ * permutation, and cellOf(i) can be computed for any i independently of every other.
+ * Cells can be left out of the permutation (e.g. around the first click), in which case it permutes the remaining
+ * cells only, and outputs skip over the cells left out.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+final class MinePermutation {
+
+    /**
+     * Number of Feistel rounds
+     */
+    private static final int ROUNDS = 4;
+
+    /**
+     * Size of the range being permuted
+     */
+    private final long numCells;
+
+    /**
+     * Cells left out of the permutation, in ascending order
+     */
+    private final int[] skipped;
+
+    /**
+     * Number of bits in each half of the Feistel network
+     */
+    private final int halfBits;
+
+    /**
+     * Mask selecting the low halfBits bits
+     */
+    private final long halfMask;
+
+    /**
+     * Round keys
+     */
+    private final long[] keys;
+
+    /**
+     * Creates the permutation for a range and seed
+     *
+     * @param numCells size of the range being permuted
+     * @param seed     seed the round keys are drawn from
+     */
+    MinePermutation(int numCells, long seed) {
+        this(numCells, seed, new int[0]);
+    }
+
+    /**
+     * Creates the permutation for a range and seed, leaving some cells out
+     *
+     * @param numCells size of the range
+     * @param seed     seed the round keys are drawn from
+     * @param skipped  cells left out of the permutation, in ascending order
+     */
+    MinePermutation(int numCells, long seed, int[] skipped) {
+        this.numCells = numCells - skipped.length;
+        this.skipped = skipped;
+        int bits = 1;
+        while ((1L << (2 * bits)) < numCells) ++bits;
+        halfBits = bits;
+        halfMask = (1L << bits) - 1;
+        keys = new long[ROUNDS];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < ROUNDS; ++i) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * @param mine index of a mine, less than the number of cells not skipped
+     * @return the cell the mine is placed in
+     */
+    int cellOf(int mine) {
+        long x = mine;
+        do {
+            x = encrypt(x);
+        } while (x >= numCells);
+        for (int cell : skipped) {
+            if (x >= cell) ++x;
+        }
+        return (int) x;
+    }
+
+    /**
+     * @param x value of 2 * halfBits bits
+     * @return the Feistel network's output for x, also of 2 * halfBits bits
+     */
+    private long encrypt(long x) {
+        long left = x >>> halfBits;
+        long right = x & halfMask;
+        for (long key : keys) {
+            long next = left ^ (mix(right ^ key) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    /**
+     * @param z value to be scrambled
+     * @return z with its bits thoroughly mixed (the SplittableRandom finalizer)
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+}
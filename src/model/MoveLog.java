@@ -0,0 +1,248 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Records games to an append-only binary log file, one game after another, to be played back with ReplayFile.
+ *
+ * Every number is written as an unsigned varint (7 bits per byte, low bits first, high bit set on every byte but the
+ * last). A game starts with a header record: the tag GAME, the format version, the width, height and number of mines,
+ * the board's safe cell plus one (0 if it has none), then the seed and the wall clock time of the first move in
+ * milliseconds, as 8 bytes each, big-endian. Together these regenerate the layout exactly. Each move follows as
+ * two varints: a tag holding the move type in its low 2 bits and the zigzag-encoded distance from the previous
+ * move's cell above them, then the milliseconds since the previous move. Moves are usually near each other and
+ * quick, so most take 2 to 3 bytes.
+ *
+ * Moves are encoded into a buffer in memory, which costs a few nanoseconds on the click path; the buffer is only
+ * written out by flush, e.g. when a game ends. A game's header is not written until its first move, so boards
+ * which are never played are not logged.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class MoveLog {
+
+    /**
+     * Move type of a cell being opened
+     */
+    public static final int REVEAL = 0;
+
+    /**
+     * Move type of a cell's marking being cycled
+     */
+    public static final int MARK = 1;
+
+    /**
+     * Move type of a chord: opening every unmarked cell around a number whose bombs are all flagged
+     */
+    public static final int CHORD = 2;
+
+    /**
+     * Tag of a game header
+     */
+    static final int GAME = 3;
+
+    /**
+     * Version of the format written
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Size the buffer may reach before it is flushed regardless
+     */
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+
+    /**
+     * File the log is appended to
+     */
+    private final Path path;
+
+    /**
+     * Records not yet written to the file
+     */
+    private byte[] buffer;
+
+    /**
+     * Number of bytes in buffer
+     */
+    private int size;
+
+    /**
+     * Board of the game being recorded, or null
+     */
+    private Board board;
+
+    /**
+     * True once the header of the game being recorded has been buffered
+     */
+    private boolean headerWritten;
+
+    /**
+     * Cell of the previous move
+     */
+    private int lastCell;
+
+    /**
+     * Wall clock time of the previous move, in milliseconds
+     */
+    private long lastTime;
+
+    /**
+     * Creates a MoveLog appending to a file, which is created along with its directory if need be
+     *
+     * @param path file the log is appended to
+     */
+    public MoveLog(Path path) {
+        this.path = path;
+        buffer = new byte[1024];
+    }
+
+    /**
+     * @return the file the log is appended to
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Starts recording a new game; its header is written with its first move
+     *
+     * @param board the board of the new game, with no moves yet made on it by the player
+     */
+    public void startGame(Board board) {
+        this.board = board;
+        headerWritten = false;
+    }
+
+    /**
+     * Stops recording until the next game is started, e.g. for a game resumed from a SaveFile, whose earlier moves
+     * were not recorded
+     */
+    public void endGame() {
+        board = null;
+    }
+
+    /**
+     * Records a move of the game being recorded
+     *
+     * @param type REVEAL, MARK or CHORD
+     * @param cell flat index of the cell the move was made on
+     * @throws IOException if the buffer was full and could not be flushed
+     */
+    public void record(int type, int cell) throws IOException {
+        if (board == null) return;
+        long now = System.currentTimeMillis();
+        if (!headerWritten) {
+            writeVarint(GAME);
+            writeVarint(VERSION);
+            writeVarint(board.getWidth());
+            writeVarint(board.getHeight());
+            writeVarint(board.getNumMines());
+            writeVarint(board.getSafeCell() + 1);
+            writeLong(board.getSeed());
+            writeLong(now);
+            headerWritten = true;
+            lastCell = 0;
+            lastTime = now;
+        }
+        int distance = cell - lastCell;
+        writeVarint(((long) ((distance << 1) ^ (distance >> 31)) & 0xFFFFFFFFL) << 2 | type);
+        writeVarint(Math.max(0, now - lastTime));
+        lastCell = cell;
+        lastTime = now;
+        if (size >= FLUSH_THRESHOLD) flush();
+    }
+
+    /**
+     * Appends everything recorded so far to the file
+     *
+     * @throws IOException if the file could not be written
+     */
+    public void flush() throws IOException {
+        if (size == 0) return;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer data = ByteBuffer.wrap(buffer, 0, size);
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Appends an unsigned varint to the buffer
+     *
+     * @param value value to be written, treated as unsigned
+     */
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Appends a long to the buffer as 8 bytes, big-endian
+     *
+     * @param value value to be written
+     */
+    private void writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Grows the buffer if need be
+     *
+     * @param extra number of bytes about to be appended
+     */
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            byte[] grown = new byte[Math.max(size + extra, 2 * buffer.length)];
+            System.arraycopy(buffer, 0, grown, 0, size);
+            buffer = grown;
+        }
+    }
+
+    /**
+     * Reads an unsigned varint
+     *
+     * @param data buffer positioned at the varint, which is advanced past it
+     * @return the value read
+     * @throws java.nio.BufferUnderflowException if the buffer ends part way through the varint
+     */
+    static long readVarint(ByteBuffer data) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = data.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+    }
+
+    /**
+     * @param tag tag of a move
+     * @return the distance from the previous move's cell encoded in the tag
+     */
+    static int distanceOf(long tag) {
+        int zigzag = (int) (tag >>> 2);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+}
@@ -0,0 +1,285 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Generates boards which can be won from a fixed start cell without ever guessing.
+ *
+ * Candidate layouts are numbered from 0, and candidate i is generated from a seed mixed from the requested seed and i,
+ * with the start cell and its neighbors kept clear so the first click always cascades. One worker per core of the
+ * common fork-join pool takes the next candidate number, generates the candidate, opens the start cell and plays it
+ * with the Solver, revealing every cell it proves safe, until the board is won or the Solver is stuck. Workers stop
+ * at the time budget, or as soon as every candidate before the best solvable one found so far has been checked, so
+ * the board returned is the lowest numbered solvable candidate: the same for the same seed on any number of cores.
+ * If the budget runs out first, an ordinary board with the start cell kept clear is returned instead.
+ *
+ * The number of candidates checked and the time taken by the last call are kept, to tune the budget for a
+ * configuration by its candidates per second per core.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class NoGuessGenerator {
+
+    /**
+     * Number of columns
+     */
+    private final int width;
+
+    /**
+     * Number of rows
+     */
+    private final int height;
+
+    /**
+     * Number of mines
+     */
+    private final int numMines;
+
+    /**
+     * Flat index of the cell the player starts from: the center of the board
+     */
+    private final int startCell;
+
+    /**
+     * Number of candidates checked by the last search
+     */
+    private int candidates;
+
+    /**
+     * Nanoseconds taken by the last search
+     */
+    private long elapsedNanos;
+
+    /**
+     * Number of workers used by the last search
+     */
+    private int workers;
+
+    /**
+     * True if the last search found a board which can be won without guessing
+     */
+    private boolean noGuess;
+
+    /**
+     * Creates a NoGuessGenerator for a board configuration
+     *
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines
+     */
+    public NoGuessGenerator(int width, int height, int numMines) {
+        this.width = width;
+        this.height = height;
+        this.numMines = numMines;
+        startCell = (height / 2) * width + width / 2;
+    }
+
+    /**
+     * @return the flat index of the cell the player must open first for a board to be winnable without guessing
+     */
+    public int getStartCell() {
+        return startCell;
+    }
+
+    /**
+     * Searches for a board which can be won from the start cell without guessing
+     *
+     * @param seed         seed the candidates are derived from
+     * @param budgetMillis most time to spend searching, in milliseconds
+     * @return the lowest numbered candidate which can be won without guessing, or if none was found within the
+     * budget, an ordinary board generated from seed with the start cell kept clear; Board.isNoGuess tells which
+     */
+    public Board generate(long seed, long budgetMillis) {
+        Board board = BoardGenerator.generate(width, height, numMines, search(seed, budgetMillis), startCell);
+        board.setNoGuess(noGuess);
+        return board;
+    }
+
+    /**
+     * Searches for a board which can be won from the start cell without guessing, without generating the board
+     * found, e.g. to regenerate an existing Board in place with BoardGenerator.regenerate
+     *
+     * @param seed         seed the candidates are derived from
+     * @param budgetMillis most time to spend searching, in milliseconds
+     * @return the seed which generates the lowest numbered candidate which can be won without guessing, with the
+     * start cell kept clear; or seed itself if none was found within the budget
+     */
+    public long search(long seed, long budgetMillis) {
+        long started = System.nanoTime();
+        AtomicLong next = new AtomicLong();
+        AtomicLong best = new AtomicLong(Long.MAX_VALUE);
+        AtomicInteger checked = new AtomicInteger();
+        workers = ForkJoinPool.getCommonPoolParallelism();
+        ForkJoinPool.commonPool().invoke(new SearchTask(this, seed, started + budgetMillis * 1000000L,
+                next, best, checked, workers));
+
+        long found = best.get();
+        noGuess = found != Long.MAX_VALUE;
+        candidates = checked.get();
+        elapsedNanos = System.nanoTime() - started;
+        return noGuess ? candidateSeed(seed, found) : seed;
+    }
+
+    /**
+     * Checks one candidate
+     *
+     * @param seed      seed the candidates are derived from
+     * @param candidate number of the candidate
+     * @return true if the candidate can be won without guessing
+     */
+    public boolean check(long seed, long candidate) {
+        Board board = BoardGenerator.generate(width, height, numMines, candidateSeed(seed, candidate), startCell,
+                false);
+        return isSolvable(board, startCell);
+    }
+
+    /**
+     * Plays a board with the Solver from a start cell, revealing every cell it proves safe until it is stuck.
+     * The board is left as the Solver left it.
+     *
+     * @param board     the board to be played
+     * @param startCell flat index of the cell opened first
+     * @return true if the board was won without guessing
+     */
+    public static boolean isSolvable(Board board, int startCell) {
+        board.reveal(startCell);
+        Solver solver = new Solver(board);
+        int[] safe = new int[0];
+        while (board.getGameState() == GameState.IN_PROGRESS) {
+            solver.solve();
+            CellBatch safeCells = solver.getSafeCells();
+            if (safeCells.isEmpty()) return false;
+            // Copied out first, since revealing a cell changes what the Solver reports
+            if (safe.length < safeCells.size()) safe = new int[Math.max(safeCells.size(), 2 * safe.length)];
+            int count = safeCells.size();
+            for (int i = 0; i < count; ++i) {
+                safe[i] = safeCells.get(i);
+            }
+            for (int i = 0; i < count; ++i) {
+                board.reveal(safe[i]);
+            }
+        }
+        return board.getGameState() == GameState.WON;
+    }
+
+    /**
+     * @return true if the last search found a board which can be won without guessing
+     */
+    public boolean isNoGuess() {
+        return noGuess;
+    }
+
+    /**
+     * @return the number of candidates checked by the last search
+     */
+    public int getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * @return the nanoseconds taken by the last search
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the candidates checked per second per worker by the last search
+     */
+    public double getCandidatesPerSecondPerCore() {
+        return elapsedNanos > 0 ? candidates * 1e9 / elapsedNanos / workers : 0;
+    }
+
+    /**
+     * @param seed      seed the candidates are derived from
+     * @param candidate number of a candidate
+     * @return the seed the candidate is generated from
+     */
+    private static long candidateSeed(long seed, long candidate) {
+        return MinePermutation.mix(seed + candidate * 0x9e3779b97f4a7c15L);
+    }
+
+    /**
+     * Fork-join task splitting into workers which check candidates until the search is over
+     */
+    @SuppressWarnings("serial")
+    private static final class SearchTask extends RecursiveAction {
+
+        /**
+         * Generator the candidates are checked for
+         */
+        private final NoGuessGenerator generator;
+
+        /**
+         * Seed the candidates are derived from
+         */
+        private final long seed;
+
+        /**
+         * Value of System.nanoTime at which to stop searching
+         */
+        private final long deadline;
+
+        /**
+         * Number of the next candidate to be checked
+         */
+        private final AtomicLong next;
+
+        /**
+         * Number of the lowest solvable candidate found so far, or Long.MAX_VALUE
+         */
+        private final AtomicLong best;
+
+        /**
+         * Number of candidates checked
+         */
+        private final AtomicInteger checked;
+
+        /**
+         * Number of workers this task is to split into
+         */
+        private final int workers;
+
+        SearchTask(NoGuessGenerator generator, long seed, long deadline, AtomicLong next, AtomicLong best,
+                   AtomicInteger checked, int workers) {
+            this.generator = generator;
+            this.seed = seed;
+            this.deadline = deadline;
+            this.next = next;
+            this.best = best;
+            this.checked = checked;
+            this.workers = workers;
+        }
+
+        @Override
+        protected void compute() {
+            if (workers > 1) {
+                int half = workers / 2;
+                invokeAll(new SearchTask(generator, seed, deadline, next, best, checked, half),
+                        new SearchTask(generator, seed, deadline, next, best, checked, workers - half));
+                return;
+            }
+            while (System.nanoTime() - deadline < 0) {
+                long candidate = next.getAndIncrement();
+                if (candidate >= best.get()) return;
+                checked.incrementAndGet();
+                if (generator.check(seed, candidate)) {
+                    long current = best.get();
+                    while (candidate < current && !best.compareAndSet(current, candidate)) {
+                        current = best.get();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,685 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Works out the probability that each cell of a Board is a mine, given the numbers revealed so far and the number of
+ * mines on the board. Every layout of mines consistent with what is showing is taken to be equally likely.
+ * The probabilities are exact unless a component (see below) is too wide to count, with more than MAX_OPEN numbers
+ * open at once: its cells are then estimated as if they touched no number, ignoring the numbers around them. isExact
+ * tells whether the last call to compute had to do so, in which case every probability is an estimate, as the
+ * components share the mines left; isExact(index) picks out the cells whose own numbers were ignored.
+ *
+ * The Solver is run first, and the cells it proves are settled. The unresolved cells touching revealed numbers (the
+ * frontier) then split into components: cells linked, directly or through each other, by a shared number. Layouts
+ * of different components only interact through the total number of mines, so each component is counted on its own,
+ * on the common fork-join pool, and the results are combined with the number of ways the remaining mines can be
+ * spread over the cells touching no number.
+ *
+ * A component is counted by dynamic programming rather than by listing its layouts, since a long frontier can have
+ * far more layouts than could ever be listed. Its cells are ordered breadth first, so each number is only "open"
+ * (some of its cells decided, some not) over a short stretch of the order. After deciding the first i cells, every
+ * partial layout with the same mine count around each open number has the same completions, so they are merged into
+ * one state, keyed by those counts and holding the number of partial layouts for each number of mines used. Partial
+ * layouts are pruned as soon as a number has too many mines or too few cells left. A backward pass from the other
+ * end, weighted by the rest of the board, then gives each cell's share of the layouts in which it is a mine.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class ProbabilityEngine {
+
+    /**
+     * Most numbers a component can have open at once; each takes 4 bits of a state
+     */
+    private static final int MAX_OPEN = 15;
+
+    /**
+     * The board being analyzed
+     */
+    private final Board board;
+
+    /**
+     * Solver settling the cells which can be proven
+     */
+    private final Solver solver;
+
+    /**
+     * Probability that each cell is a mine, as of the last call to compute
+     */
+    private final double[] probabilities;
+
+    /**
+     * Position of each frontier cell within its component, or -1 for cells off the frontier
+     */
+    private final int[] positions;
+
+    /**
+     * Scratch space for a cell's neighbors
+     */
+    private final int[] neighbors;
+
+    /**
+     * Cells whose probability was estimated rather than counted by the last call to compute
+     */
+    private final BitSet estimated;
+
+    /**
+     * Creates a ProbabilityEngine which settles what it can prove with a Solver
+     *
+     * @param solver solver for the board to be analyzed
+     */
+    public ProbabilityEngine(Solver solver) {
+        this.solver = solver;
+        this.board = solver.getBoard();
+        probabilities = new double[board.getNumCells()];
+        positions = new int[board.getNumCells()];
+        neighbors = new int[8];
+        estimated = new BitSet(board.getNumCells());
+    }
+
+    /**
+     * @return the board being analyzed
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return the solver settling the cells which can be proven
+     */
+    public Solver getSolver() {
+        return solver;
+    }
+
+    /**
+     * Works out the probability that each cell is a mine, from the board as it stands now. The probabilities of the
+     * cells of components too wide to count are estimated, see isExact.
+     *
+     * @return the probability for each cell, by flat index; 0 for revealed cells. The array is reused by the next call.
+     */
+    public double[] compute() {
+        solver.solve();
+        Arrays.fill(positions, -1);
+        estimated.clear();
+        List<Component> components = findComponents();
+
+        int remainingMines = board.getNumMines() - solver.getMineCells().size();
+        int unconstrained = 0;
+        for (int i = 0; i < probabilities.length; ++i) {
+            if (!board.isRevealed(i) && !solver.isSafe(i) && !solver.isMine(i) && positions[i] < 0) ++unconstrained;
+        }
+        List<Component> counted = new ArrayList<>();
+        for (Component component : components) {
+            if (component.prepare(remainingMines)) {
+                counted.add(component);
+            } else {
+                // Too wide to count exactly: its cells are estimated as if they touched no number
+                for (int cell : component.cells) {
+                    positions[cell] = -1;
+                    estimated.set(cell);
+                }
+                unconstrained += component.cells.length;
+            }
+        }
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        pool.invoke(new ComponentTask(counted, 0, counted.size(), false));
+
+        // Weight of each total number of frontier mines, from the ways the rest can be spread over the other cells
+        int frontierMax = 0;
+        for (Component component : counted) {
+            frontierMax += component.limit;
+        }
+        frontierMax = Math.min(frontierMax, remainingMines);
+        double[] spread = spreadWeights(unconstrained, remainingMines, frontierMax);
+
+        // Every component is weighted by the combined counts of all the others, built from prefix and suffix products
+        int n = counted.size();
+        double[][] prefix = new double[n + 1][];
+        double[][] suffix = new double[n + 1][];
+        prefix[0] = new double[]{1};
+        suffix[n] = new double[]{1};
+        for (int c = 0; c < n; ++c) {
+            prefix[c + 1] = convolve(prefix[c], counted.get(c).weights, frontierMax);
+        }
+        for (int c = n - 1; c >= 0; --c) {
+            suffix[c] = convolve(counted.get(c).weights, suffix[c + 1], frontierMax);
+        }
+        for (int c = 0; c < n; ++c) {
+            double[] others = convolve(prefix[c], suffix[c + 1], frontierMax);
+            Component component = counted.get(c);
+            double[] outside = new double[component.limit + 1];
+            for (int t = 0; t < outside.length; ++t) {
+                for (int j = 0; j < others.length && t + j < spread.length; ++j) {
+                    outside[t] += others[j] * spread[t + j];
+                }
+            }
+            component.outside = normalize(outside);
+        }
+        pool.invoke(new ComponentTask(counted, 0, counted.size(), true));
+
+        double[] all = prefix[n];
+        double expected = 0;
+        double total = 0;
+        for (int k = 0; k < all.length && k < spread.length; ++k) {
+            expected += all[k] * spread[k] * (remainingMines - k);
+            total += all[k] * spread[k];
+        }
+        double unconstrainedProbability = (unconstrained > 0 && total > 0) ? expected / total / unconstrained : 0;
+
+        for (int i = 0; i < probabilities.length; ++i) {
+            if (board.isRevealed(i) || solver.isSafe(i)) {
+                probabilities[i] = 0;
+            } else if (solver.isMine(i)) {
+                probabilities[i] = 1;
+            } else if (positions[i] < 0) {
+                probabilities[i] = unconstrainedProbability;
+            }
+        }
+        for (Component component : counted) {
+            for (int p = 0; p < component.cells.length; ++p) {
+                probabilities[component.cells[p]] = component.probabilities[p];
+            }
+        }
+        return probabilities;
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return the probability that the cell is a mine, as of the last call to compute
+     */
+    public double getProbability(int index) {
+        return probabilities[index];
+    }
+
+    /**
+     * @return true if every probability worked out by the last call to compute is exact; false if a component was
+     * too wide to count, in which case every probability is an estimate
+     */
+    public boolean isExact() {
+        return estimated.isEmpty();
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return false if the cell's probability, as of the last call to compute, was estimated as if the cell touched
+     * no number, because its component was too wide to count; true otherwise, though the probability is only exact
+     * if isExact is
+     */
+    public boolean isExact(int index) {
+        return !estimated.get(index);
+    }
+
+    /**
+     * Finds the unrevealed, unmarked cell least likely to be a mine, as of the last call to compute
+     *
+     * @return the flat index of the cell, or -1 if there is none
+     */
+    public int getSafestCell() {
+        int safest = -1;
+        for (int i = 0; i < probabilities.length; ++i) {
+            if ((board.getState(i) & (Board.REVEALED | Board.MARK_MASK)) != 0) continue;
+            if (safest < 0 || probabilities[i] < probabilities[safest]) safest = i;
+        }
+        return safest;
+    }
+
+    /**
+     * Collects the unresolved frontier cells and the numbers around them, split into components.
+     * Each cell's position within its component is recorded in positions.
+     *
+     * @return the components, each with its cells in breadth-first order
+     */
+    private List<Component> findComponents() {
+        // Numbers with unresolved cells left, each with the mines it still needs
+        Map<Integer, Integer> needs = new HashMap<>();
+        List<Integer> numbers = new ArrayList<>();
+        Topology topology = board.getTopology();
+        for (int i = 0; i < probabilities.length; ++i) {
+            if (!board.isRevealed(i) || board.isMine(i) || board.getNeighboringMines(i) == 0) continue;
+            int need = board.getNeighboringMines(i);
+            boolean open = false;
+            int count = topology.neighbors(i, neighbors);
+            for (int k = 0; k < count; ++k) {
+                int n = neighbors[k];
+                if (solver.isMine(n)) --need;
+                else if (!board.isRevealed(n) && !solver.isSafe(n)) open = true;
+            }
+            if (open) {
+                numbers.add(i);
+                needs.put(i, need);
+            }
+        }
+
+        List<Component> components = new ArrayList<>();
+        ArrayList<Integer> cells = new ArrayList<>();
+        ArrayList<Integer> componentNumbers = new ArrayList<>();
+        for (int first : numbers) {
+            if (needs.get(first) < 0) continue;
+            // Breadth first over numbers and cells alike, marking numbers done by negating their need - 1
+            cells.clear();
+            componentNumbers.clear();
+            componentNumbers.add(first);
+            needs.put(first, -needs.get(first) - 1);
+            for (int head = 0; head < componentNumbers.size(); ++head) {
+                int number = componentNumbers.get(head);
+                int count = topology.neighbors(number, neighbors);
+                int[] around = Arrays.copyOf(neighbors, count);
+                for (int n : around) {
+                    if (board.isRevealed(n) || solver.isSafe(n) || solver.isMine(n) || positions[n] >= 0) continue;
+                    positions[n] = cells.size();
+                    cells.add(n);
+                    int cellCount = topology.neighbors(n, neighbors);
+                    for (int k = 0; k < cellCount; ++k) {
+                        Integer need = needs.get(neighbors[k]);
+                        if (need != null && need >= 0) {
+                            componentNumbers.add(neighbors[k]);
+                            needs.put(neighbors[k], -need - 1);
+                        }
+                    }
+                }
+            }
+            int[] componentCells = new int[cells.size()];
+            for (int p = 0; p < componentCells.length; ++p) {
+                componentCells[p] = cells.get(p);
+            }
+            int[] numberCells = new int[componentNumbers.size()];
+            int[] numberNeeds = new int[numberCells.length];
+            for (int c = 0; c < numberCells.length; ++c) {
+                numberCells[c] = componentNumbers.get(c);
+                numberNeeds[c] = -needs.get(numberCells[c]) - 1;
+            }
+            components.add(new Component(componentCells, numberCells, numberNeeds, positions, topology));
+        }
+        return components;
+    }
+
+    /**
+     * Weighs each number of mines on the frontier by the number of ways the rest of the mines can be spread over the
+     * cells touching no number, i.e. C(cells, mines - k), scaled so the largest weight is 1
+     *
+     * @param cells       number of unresolved cells touching no number
+     * @param mines       number of mines not yet proven
+     * @param frontierMax most mines the frontier can hold
+     * @return the weight for each number of frontier mines k, from 0 to frontierMax
+     */
+    private static double[] spreadWeights(int cells, int mines, int frontierMax) {
+        double[] weights = new double[frontierMax + 1];
+        int low = Math.max(0, mines - frontierMax);
+        int high = Math.min(cells, mines);
+        if (low > high) return weights;
+        // ln C(cells, m) relative to ln C(cells, low)
+        double[] logs = new double[high - low + 1];
+        for (int m = low; m < high; ++m) {
+            logs[m - low + 1] = logs[m - low] + Math.log(cells - m) - Math.log(m + 1);
+        }
+        double max = Double.NEGATIVE_INFINITY;
+        for (double log : logs) {
+            max = Math.max(max, log);
+        }
+        for (int m = low; m <= high; ++m) {
+            weights[mines - m] = Math.exp(logs[m - low] - max);
+        }
+        return weights;
+    }
+
+    /**
+     * @param a     counts by number of mines
+     * @param b     counts by number of mines
+     * @param limit largest number of mines to keep
+     * @return the counts of a and b together by number of mines, up to limit
+     */
+    private static double[] convolve(double[] a, double[] b, int limit) {
+        double[] result = new double[Math.min(a.length + b.length - 1, limit + 1)];
+        for (int i = 0; i < a.length && i < result.length; ++i) {
+            if (a[i] == 0) continue;
+            for (int j = 0; j < b.length && i + j < result.length; ++j) {
+                result[i + j] += a[i] * b[j];
+            }
+        }
+        return normalize(result);
+    }
+
+    /**
+     * Scales an array of weights so that the largest is 1, keeping long products of them within range of a double
+     *
+     * @param weights weights to be scaled in place
+     * @return weights
+     */
+    private static double[] normalize(double[] weights) {
+        double max = 0;
+        for (double weight : weights) {
+            max = Math.max(max, weight);
+        }
+        if (max > 0) {
+            for (int i = 0; i < weights.length; ++i) {
+                weights[i] /= max;
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * A connected group of frontier cells and the numbers around them, counted by dynamic programming.
+     * A state packs the mine count around each open number into 4 bits, in a slot assigned when the number opens.
+     */
+    private static final class Component {
+
+        /**
+         * Frontier cells, in the order they are decided
+         */
+        private final int[] cells;
+
+        /**
+         * Mines each number needs among the component's cells
+         */
+        private final int[] needs;
+
+        /**
+         * Numbers touching each cell, by position
+         */
+        private final int[][] numbersAt;
+
+        /**
+         * Cells each number in numbersAt has left after the cell at that position, by position
+         */
+        private final int[][] remainingAt;
+
+        /**
+         * Position of the first cell of each number
+         */
+        private final int[] first;
+
+        /**
+         * Position of the last cell of each number
+         */
+        private final int[] last;
+
+        /**
+         * State slot of each number, or -1 for numbers opening and closing on the same cell
+         */
+        private final int[] slots;
+
+        /**
+         * Most mines the component can hold
+         */
+        private int limit;
+
+        /**
+         * States after deciding each number of cells, each with its count of partial layouts by mines used
+         */
+        private List<Map<Long, double[]>> forward;
+
+        /**
+         * Count of the component's layouts by number of mines, scaled
+         */
+        private double[] weights;
+
+        /**
+         * Weight of each number of mines in the component from the rest of the board, scaled
+         */
+        private double[] outside;
+
+        /**
+         * Probability that each cell is a mine, by position
+         */
+        private double[] probabilities;
+
+        /**
+         * Creates a component
+         *
+         * @param cells     frontier cells, in breadth-first order
+         * @param numbers   numbers touching the cells
+         * @param needs     mines each number needs among the cells
+         * @param positions position of each frontier cell in its component, by flat index
+         * @param topology  neighbor tables for the board
+         */
+        Component(int[] cells, int[] numbers, int[] needs, int[] positions, Topology topology) {
+            this.cells = cells;
+            this.needs = needs;
+            first = new int[numbers.length];
+            last = new int[numbers.length];
+            slots = new int[numbers.length];
+            int[] counts = new int[cells.length];
+            int[] around = new int[8];
+            int[][] cellsOf = new int[numbers.length][];
+            for (int c = 0; c < numbers.length; ++c) {
+                int count = topology.neighbors(numbers[c], around);
+                int[] mine = new int[count];
+                int size = 0;
+                first[c] = Integer.MAX_VALUE;
+                last[c] = -1;
+                for (int k = 0; k < count; ++k) {
+                    int p = positions[around[k]];
+                    if (p >= 0 && p < cells.length && cells[p] == around[k]) {
+                        mine[size++] = p;
+                        ++counts[p];
+                        first[c] = Math.min(first[c], p);
+                        last[c] = Math.max(last[c], p);
+                    }
+                }
+                cellsOf[c] = Arrays.copyOf(mine, size);
+            }
+            numbersAt = new int[cells.length][];
+            remainingAt = new int[cells.length][];
+            for (int p = 0; p < cells.length; ++p) {
+                numbersAt[p] = new int[counts[p]];
+                remainingAt[p] = new int[counts[p]];
+            }
+            int[] filled = new int[cells.length];
+            for (int c = 0; c < numbers.length; ++c) {
+                for (int p : cellsOf[c]) {
+                    int remaining = 0;
+                    for (int q : cellsOf[c]) {
+                        if (q > p) ++remaining;
+                    }
+                    numbersAt[p][filled[p]] = c;
+                    remainingAt[p][filled[p]] = remaining;
+                    ++filled[p];
+                }
+            }
+        }
+
+        /**
+         * Assigns state slots to the numbers
+         *
+         * @param remainingMines number of mines not yet proven
+         * @return false if too many numbers are open at once for the component to be counted
+         */
+        boolean prepare(int remainingMines) {
+            limit = Math.min(cells.length, remainingMines);
+            boolean[] used = new boolean[MAX_OPEN];
+            for (int p = 0; p < cells.length; ++p) {
+                for (int c : numbersAt[p]) {
+                    if (first[c] != p) continue;
+                    slots[c] = -1;
+                    if (last[c] == p) continue;
+                    for (int s = 0; s < MAX_OPEN && slots[c] < 0; ++s) {
+                        if (!used[s]) {
+                            used[s] = true;
+                            slots[c] = s;
+                        }
+                    }
+                    if (slots[c] < 0) return false;
+                }
+                for (int c : numbersAt[p]) {
+                    if (last[c] == p && slots[c] >= 0) used[slots[c]] = false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Decides the cell at a position
+         *
+         * @param state state before the cell is decided
+         * @param p     position of the cell
+         * @param mine  1 if the cell is a mine, 0 if not
+         * @return the state after the cell is decided, or -1 if no layout can follow
+         */
+        private long next(long state, int p, int mine) {
+            int[] numbers = numbersAt[p];
+            for (int k = 0; k < numbers.length; ++k) {
+                int c = numbers[k];
+                int shift = 4 * slots[c];
+                int count = (first[c] == p ? 0 : (int) ((state >>> shift) & 0xF)) + mine;
+                if (count > needs[c] || count + remainingAt[p][k] < needs[c]) return -1;
+                if (slots[c] < 0) continue;
+                state &= ~(0xFL << shift);
+                if (last[c] != p) state |= (long) count << shift;
+            }
+            return state;
+        }
+
+        /**
+         * Counts the component's layouts by number of mines, keeping the states after each cell for backward
+         */
+        void forward() {
+            forward = new ArrayList<>(cells.length + 1);
+            Map<Long, double[]> current = new HashMap<>();
+            current.put(0L, new double[]{1});
+            forward.add(current);
+            for (int p = 0; p < cells.length; ++p) {
+                Map<Long, double[]> following = new HashMap<>();
+                int length = Math.min(p + 1, limit) + 1;
+                for (Map.Entry<Long, double[]> entry : current.entrySet()) {
+                    double[] counts = entry.getValue();
+                    for (int mine = 0; mine <= 1; ++mine) {
+                        long state = next(entry.getKey(), p, mine);
+                        if (state < 0) continue;
+                        double[] target = following.get(state);
+                        if (target == null) {
+                            target = new double[length];
+                            following.put(state, target);
+                        }
+                        for (int a = 0; a < counts.length && a + mine < length; ++a) {
+                            target[a + mine] += counts[a];
+                        }
+                    }
+                }
+                normalizeAll(following);
+                forward.add(following);
+                current = following;
+            }
+            double[] total = current.get(0L);
+            weights = total != null ? total.clone() : new double[limit + 1];
+            normalize(weights);
+        }
+
+        /**
+         * Works out each cell's probability of being a mine, once outside has been set, walking back from the last
+         * cell with the weight of every completion of each state
+         */
+        void backward() {
+            probabilities = new double[cells.length];
+            Map<Long, double[]> following = new HashMap<>();
+            following.put(0L, outside);
+            for (int p = cells.length - 1; p >= 0; --p) {
+                Map<Long, double[]> current = new HashMap<>();
+                double withMine = 0;
+                double total = 0;
+                for (Map.Entry<Long, double[]> entry : forward.get(p).entrySet()) {
+                    double[] counts = entry.getValue();
+                    double[] completions = new double[counts.length];
+                    for (int mine = 0; mine <= 1; ++mine) {
+                        long state = next(entry.getKey(), p, mine);
+                        if (state < 0) continue;
+                        double[] after = following.get(state);
+                        if (after == null) continue;
+                        for (int a = 0; a < counts.length && a + mine < after.length; ++a) {
+                            completions[a] += after[a + mine];
+                            double weight = counts[a] * after[a + mine];
+                            total += weight;
+                            if (mine == 1) withMine += weight;
+                        }
+                    }
+                    current.put(entry.getKey(), completions);
+                }
+                probabilities[p] = total > 0 ? withMine / total : 0;
+                normalizeAll(current);
+                following = current;
+            }
+            forward = null;
+        }
+
+        /**
+         * Scales every count in a step so that the largest is 1; the scale cancels out of every probability
+         *
+         * @param step states and their counts
+         */
+        private static void normalizeAll(Map<Long, double[]> step) {
+            double max = 0;
+            for (double[] counts : step.values()) {
+                for (double count : counts) {
+                    max = Math.max(max, count);
+                }
+            }
+            if (max > 0 && (max > 1e100 || max < 1e-100)) {
+                for (double[] counts : step.values()) {
+                    for (int i = 0; i < counts.length; ++i) {
+                        counts[i] /= max;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Fork-join task running one pass over a range of components
+     */
+    @SuppressWarnings("serial")
+    private static final class ComponentTask extends RecursiveAction {
+
+        /**
+         * Components being counted
+         */
+        private final List<Component> components;
+
+        /**
+         * First component, inclusive
+         */
+        private final int from;
+
+        /**
+         * Last component, exclusive
+         */
+        private final int to;
+
+        /**
+         * True for the backward pass, false for the forward pass
+         */
+        private final boolean backward;
+
+        ComponentTask(List<Component> components, int from, int to, boolean backward) {
+            this.components = components;
+            this.from = from;
+            this.to = to;
+            this.backward = backward;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (backward) components.get(from).backward();
+                else components.get(from).forward();
+            } else if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ComponentTask(components, from, mid, backward),
+                        new ComponentTask(components, mid, to, backward));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,217 @@
+package model;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Plays back one game from a ReplayFile on a Board regenerated from the game's header.
+ *
+ * When a Replay is created it plays the whole game through once, taking a keyframe every KEYFRAME_INTERVAL moves:
+ * a snapshot of the board, with the position of the next record and the cell and time it follows from. Seeking to
+ * any move then restores the nearest keyframe at or before it and plays at most KEYFRAME_INTERVAL - 1 moves,
+ * decoded straight from the mapped file, so jumping around even a long game is instant.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Replay {
+
+    /**
+     * Number of moves between keyframes
+     */
+    private static final int KEYFRAME_INTERVAL = 64;
+
+    /**
+     * The game's records, from its header to its last move
+     */
+    private final ByteBuffer data;
+
+    /**
+     * Board the game is played back on
+     */
+    private final Board board;
+
+    /**
+     * Wall clock time of the first move, in milliseconds
+     */
+    private final long startTime;
+
+    /**
+     * Number of moves in the game
+     */
+    private final int numMoves;
+
+    /**
+     * Snapshot of the board at each keyframe
+     */
+    private final byte[][] keySnapshots;
+
+    /**
+     * Position in data of the record after each keyframe
+     */
+    private final int[] keyPositions;
+
+    /**
+     * Cell of the last move before each keyframe
+     */
+    private final int[] keyCells;
+
+    /**
+     * Time of the last move before each keyframe
+     */
+    private final long[] keyTimes;
+
+    /**
+     * Number of moves played so far
+     */
+    private int currentMove;
+
+    /**
+     * Cell of the last move played
+     */
+    private int lastCell;
+
+    /**
+     * Time of the last move played, in milliseconds
+     */
+    private long lastTime;
+
+    /**
+     * Reads a game's header, regenerates its board and plays it through, taking keyframes
+     *
+     * @param data the game's records, from its header to its last move
+     */
+    Replay(ByteBuffer data) {
+        this.data = data;
+        MoveLog.readVarint(data);
+        MoveLog.readVarint(data);
+        int width = (int) MoveLog.readVarint(data);
+        int height = (int) MoveLog.readVarint(data);
+        int mines = (int) MoveLog.readVarint(data);
+        int safeCell = (int) MoveLog.readVarint(data) - 1;
+        long seed = data.getLong();
+        startTime = data.getLong();
+        if (safeCell >= 0) {
+            // Boards with a safe cell are no-guess boards, which are created with that cell already opened
+            board = BoardGenerator.generate(width, height, mines, seed, safeCell);
+            board.reveal(safeCell);
+        } else {
+            board = BoardGenerator.generate(width, height, mines, seed);
+        }
+        lastTime = startTime;
+
+        int moves = 0;
+        int capacity = 4;
+        byte[][] snapshots = new byte[capacity][];
+        int[] positions = new int[capacity];
+        int[] cells = new int[capacity];
+        long[] times = new long[capacity];
+        while (data.hasRemaining()) {
+            if (moves % KEYFRAME_INTERVAL == 0) {
+                int key = moves / KEYFRAME_INTERVAL;
+                if (key == capacity) {
+                    capacity *= 2;
+                    snapshots = Arrays.copyOf(snapshots, capacity);
+                    positions = Arrays.copyOf(positions, capacity);
+                    cells = Arrays.copyOf(cells, capacity);
+                    times = Arrays.copyOf(times, capacity);
+                }
+                snapshots[key] = board.snapshot();
+                positions[key] = data.position();
+                cells[key] = lastCell;
+                times[key] = lastTime;
+            }
+            playNext();
+            ++moves;
+        }
+        numMoves = moves;
+        currentMove = moves;
+        keySnapshots = snapshots;
+        keyPositions = positions;
+        keyCells = cells;
+        keyTimes = times;
+    }
+
+    /**
+     * @return the board the game is played back on
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return the number of moves in the game
+     */
+    public int getNumMoves() {
+        return numMoves;
+    }
+
+    /**
+     * @return the number of moves played so far
+     */
+    public int getCurrentMove() {
+        return currentMove;
+    }
+
+    /**
+     * @return the wall clock time of the game's first move, in milliseconds since the epoch
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the milliseconds from the first move to the last move played so far
+     */
+    public long getElapsedMillis() {
+        return lastTime - startTime;
+    }
+
+    /**
+     * Puts the board in the state it was in after a number of moves
+     *
+     * @param move number of moves to have been played, from 0 to getNumMoves()
+     */
+    public void seek(int move) {
+        if (move < 0 || move > numMoves) throw new IndexOutOfBoundsException("No move " + move);
+        int key = Math.min(move, numMoves - 1) / KEYFRAME_INTERVAL;
+        if (move < currentMove || currentMove < key * KEYFRAME_INTERVAL) {
+            board.restore(keySnapshots[key]);
+            data.position(keyPositions[key]);
+            lastCell = keyCells[key];
+            lastTime = keyTimes[key];
+            currentMove = key * KEYFRAME_INTERVAL;
+        }
+        while (currentMove < move) {
+            playNext();
+            ++currentMove;
+        }
+    }
+
+    /**
+     * Decodes the next move from data and plays it on the board
+     */
+    private void playNext() {
+        long tag = MoveLog.readVarint(data);
+        lastTime += MoveLog.readVarint(data);
+        lastCell += MoveLog.distanceOf(tag);
+        switch ((int) (tag & 3)) {
+            case MoveLog.REVEAL:
+                board.reveal(lastCell);
+                break;
+            case MoveLog.MARK:
+                board.cycleMark(lastCell);
+                break;
+            case MoveLog.CHORD:
+                board.chord(lastCell);
+                break;
+            default:
+                break;
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * A log written by MoveLog, memory-mapped for playback. Opening the file only skims it for the start of each game;
+ * a game's moves are decoded straight from the mapping when the game is played back as a Replay.
+ * A log cut short, e.g. by a crash part way through a write, is read up to its last complete record.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class ReplayFile implements Closeable {
+
+    /**
+     * Channel the file is mapped through
+     */
+    private final FileChannel channel;
+
+    /**
+     * The mapped file
+     */
+    private final MappedByteBuffer data;
+
+    /**
+     * Offset of each game's header, followed by the offset just past the last complete record
+     */
+    private final int[] offsets;
+
+    /**
+     * Number of games in the file
+     */
+    private final int numGames;
+
+    /**
+     * Maps a log file and finds the games in it
+     *
+     * @param path the log file
+     * @throws IOException if the file cannot be read
+     */
+    public ReplayFile(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        int[] found = new int[16];
+        int games = 0;
+        int end = 0;
+        ByteBuffer scan = data.duplicate();
+        try {
+            while (scan.hasRemaining()) {
+                int start = scan.position();
+                long tag = MoveLog.readVarint(scan);
+                if (tag == MoveLog.GAME) {
+                    skipHeader(scan);
+                    if (games + 1 >= found.length) found = Arrays.copyOf(found, 2 * found.length);
+                    found[games++] = start;
+                } else if (games == 0) {
+                    throw new IOException("Not a move log: " + path);
+                } else {
+                    MoveLog.readVarint(scan);
+                }
+                end = scan.position();
+            }
+        } catch (BufferUnderflowException e) {
+            // The last record is incomplete; everything before it is kept
+        }
+        found[games] = end;
+        offsets = found;
+        numGames = games;
+    }
+
+    /**
+     * @return the number of games in the file
+     */
+    public int getNumGames() {
+        return numGames;
+    }
+
+    /**
+     * Plays back a game
+     *
+     * @param game number of the game, from 0 in the order they were played
+     * @return a Replay of the game, positioned after its last move
+     */
+    public Replay getGame(int game) {
+        if (game < 0 || game >= numGames) throw new IndexOutOfBoundsException("No game " + game);
+        ByteBuffer slice = data.duplicate();
+        slice.limit(offsets[game + 1]);
+        slice.position(offsets[game]);
+        return new Replay(slice.slice());
+    }
+
+    /**
+     * Closes the channel; Replays already created remain usable
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Skips the rest of a game header, after its tag
+     *
+     * @param data buffer positioned after the tag
+     * @throws IOException if the header is of an unknown version
+     */
+    static void skipHeader(ByteBuffer data) throws IOException {
+        long version = MoveLog.readVarint(data);
+        if (version != MoveLog.VERSION) throw new IOException("Unknown move log version " + version);
+        for (int i = 0; i < 4; ++i) {
+            MoveLog.readVarint(data);
+        }
+        data.getLong();
+        data.getLong();
+    }
+
+}
@@ -0,0 +1,411 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Finds every cell of a Board that can be proven safe or proven to be a mine from the numbers revealed so far,
+ * without guessing. Flags are the player's opinion rather than facts, so they are ignored.
+ *
+ * Each revealed number is a constraint: of the unresolved cells around it, exactly (number - mines proven around it)
+ * are mines. A constraint's cells are kept as a 9 bit mask over its 3x3 neighborhood, and two rules are applied
+ * until neither proves anything new:
+ * - single: a constraint needing no more mines makes all of its cells safe, and one needing as many mines as it has
+ * cells makes all of them mines.
+ * - pairwise: two constraints within two cells of each other are laid into the 5x5 frame covering both, as 25 bit
+ * masks. The bounds on the number of mines in their intersection bound the mines in the cells only one of them
+ * covers, which proves the classic subset rule and its overlapping variants with a handful of bit operations.
+ *
+ * A Board only ever gains information as it is played, so a Solver remembers what it has proven between calls:
+ * each call only re-examines the constraints whose cells changed since the last, and solving again after a move
+ * costs little more than a scan of the board. Nothing is allocated once the Solver's lists have grown.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Solver {
+
+    /**
+     * Width of the frame two nearby constraints are laid into
+     */
+    private static final int FRAME = 5;
+
+    /**
+     * Each 3x3 mask, with its rows spread out to the width of the frame
+     */
+    private static final int[] SPREAD = new int[512];
+
+    static {
+        for (int mask = 0; mask < SPREAD.length; ++mask) {
+            int spread = 0;
+            for (int bit = 0; bit < 9; ++bit) {
+                if ((mask & (1 << bit)) != 0) spread |= 1 << ((bit / 3) * FRAME + bit % 3);
+            }
+            SPREAD[mask] = spread;
+        }
+    }
+
+    /**
+     * The board being solved
+     */
+    private final Board board;
+
+    /**
+     * Bitset of the unrevealed cells proven safe
+     */
+    private final long[] safe;
+
+    /**
+     * Bitset of the cells proven to be mines
+     */
+    private final long[] mines;
+
+    /**
+     * Bitset of the constraints with no unresolved cells left, which can never change again
+     */
+    private final long[] done;
+
+    /**
+     * Bitset of the constraints waiting in queue
+     */
+    private final long[] queued;
+
+    /**
+     * Bitset of the constraints in changed
+     */
+    private final long[] changedBits;
+
+    /**
+     * 3x3 mask of the unresolved cells around each constraint, or 0 for cells which are not constraints
+     */
+    private final int[] masks;
+
+    /**
+     * Number of mines each constraint still needs among the cells in its mask
+     */
+    private final int[] needs;
+
+    /**
+     * Constraints to have the single rule applied, since one of their cells was resolved
+     */
+    private final CellBatch queue;
+
+    /**
+     * Constraints which have changed since the pairwise rule was last applied to them
+     */
+    private CellBatch changed;
+
+    /**
+     * Spare list changed is swapped with while the pairwise rule is applied
+     */
+    private CellBatch spare;
+
+    /**
+     * Unrevealed cells proven safe, in the order they were proven
+     */
+    private CellBatch safeCells;
+
+    /**
+     * Cells proven to be mines, in the order they were proven
+     */
+    private final CellBatch mineCells;
+
+    /**
+     * Scratch space for a cell's neighbors
+     */
+    private final int[] neighbors;
+
+    /**
+     * Creates a Solver for a Board
+     *
+     * @param board the board to be solved
+     */
+    public Solver(Board board) {
+        this.board = board;
+        int words = (board.getNumCells() + 63) >>> 6;
+        safe = new long[words];
+        mines = new long[words];
+        done = new long[words];
+        queued = new long[words];
+        changedBits = new long[words];
+        masks = new int[board.getNumCells()];
+        needs = new int[board.getNumCells()];
+        queue = new CellBatch(64);
+        changed = new CellBatch(64);
+        spare = new CellBatch(64);
+        safeCells = new CellBatch(64);
+        mineCells = new CellBatch(64);
+        neighbors = new int[8];
+    }
+
+    /**
+     * @return the board being solved
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Works out every cell that can be proven safe or a mine from the board as it stands now
+     *
+     * @return the number of unrevealed cells proven safe plus the number of cells proven to be mines
+     */
+    public int solve() {
+        spare.clear();
+        for (int i = 0; i < safeCells.size(); ++i) {
+            int index = safeCells.get(i);
+            if (board.isRevealed(index)) {
+                safe[index >>> 6] &= ~(1L << index);
+            } else {
+                spare.add(index);
+            }
+        }
+        CellBatch swap = safeCells;
+        safeCells = spare;
+        spare = swap;
+        spare.clear();
+
+        for (int i = 0; i < masks.length; ++i) {
+            if (isSet(done, i) || !isConstraint(i)) continue;
+            int previous = masks[i];
+            int mask = evaluate(i);
+            if (mask == 0) {
+                done[i >>> 6] |= 1L << i;
+            } else if (mask != previous) {
+                enqueue(i);
+            }
+        }
+        do {
+            applySingleRule();
+            applyPairwiseRule();
+        } while (!queue.isEmpty());
+        return safeCells.size() + mineCells.size();
+    }
+
+    /**
+     * Forgets everything proven so far - to be called if the board is reset rather than only played
+     */
+    public void reset() {
+        Arrays.fill(safe, 0);
+        Arrays.fill(mines, 0);
+        Arrays.fill(done, 0);
+        Arrays.fill(masks, 0);
+        safeCells.clear();
+        mineCells.clear();
+    }
+
+    /**
+     * @return the unrevealed cells proven safe by the last call to solve
+     */
+    public CellBatch getSafeCells() {
+        return safeCells;
+    }
+
+    /**
+     * @return the cells proven to be mines by the last call to solve
+     */
+    public CellBatch getMineCells() {
+        return mineCells;
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return true if the last call to solve proved the cell safe and it is unrevealed
+     */
+    public boolean isSafe(int index) {
+        return isSet(safe, index);
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return true if the last call to solve proved the cell to be a mine
+     */
+    public boolean isMine(int index) {
+        return isSet(mines, index);
+    }
+
+    /**
+     * Applies the single rule to every queued constraint, and to every constraint it queues in turn.
+     * Constraints left with unresolved cells are passed on to the pairwise rule.
+     */
+    private void applySingleRule() {
+        for (int head = 0; head < queue.size(); ++head) {
+            int c = queue.get(head);
+            queued[c >>> 6] &= ~(1L << c);
+            int mask = evaluate(c);
+            if (mask == 0) continue;
+            int need = needs[c];
+            if (need == 0 || need == Integer.bitCount(mask)) {
+                resolve(board.rowOf(c) - 1, board.colOf(c) - 1, SPREAD[mask], need != 0);
+            } else if (!isSet(changedBits, c)) {
+                changedBits[c >>> 6] |= 1L << c;
+                changed.add(c);
+            }
+        }
+        queue.clear();
+    }
+
+    /**
+     * Applies the pairwise rule to every changed constraint and each constraint within two cells of it.
+     * Any constraint the rule resolves cells around is queued for the single rule again.
+     */
+    private void applyPairwiseRule() {
+        CellBatch swap = changed;
+        changed = spare;
+        spare = swap;
+        int width = board.getWidth();
+        int height = board.getHeight();
+        for (int i = 0; i < spare.size(); ++i) {
+            int a = spare.get(i);
+            changedBits[a >>> 6] &= ~(1L << a);
+            if (masks[a] == 0) continue;
+            int rowA = board.rowOf(a);
+            int colA = board.colOf(a);
+            for (int rowB = Math.max(0, rowA - 2); rowB <= rowA + 2 && rowB < height; ++rowB) {
+                for (int colB = Math.max(0, colA - 2); colB <= colA + 2 && colB < width; ++colB) {
+                    int b = rowB * width + colB;
+                    if (b != a && masks[b] != 0 && masks[a] != 0) comparePair(a, rowA, colA, b, rowB, colB);
+                }
+            }
+        }
+        spare.clear();
+    }
+
+    /**
+     * Applies the pairwise rule to two constraints
+     *
+     * @param a    flat index of the first constraint
+     * @param rowA row of the first constraint
+     * @param colA column of the first constraint
+     * @param b    flat index of the second constraint
+     * @param rowB row of the second constraint
+     * @param colB column of the second constraint
+     * @return true if anything new was proven
+     */
+    private boolean comparePair(int a, int rowA, int colA, int b, int rowB, int colB) {
+        int top = Math.min(rowA, rowB);
+        int left = Math.min(colA, colB);
+        int frameA = SPREAD[masks[a]] << ((rowA - top) * FRAME + colA - left);
+        int frameB = SPREAD[masks[b]] << ((rowB - top) * FRAME + colB - left);
+        int both = frameA & frameB;
+        if (both == 0) return false;
+        int onlyA = frameA & ~frameB;
+        int onlyB = frameB & ~frameA;
+        int needA = needs[a];
+        int needB = needs[b];
+        int sizeA = Integer.bitCount(onlyA);
+        int sizeB = Integer.bitCount(onlyB);
+        int sizeBoth = Integer.bitCount(both);
+        int fewest = Math.max(0, Math.max(needA - sizeA, needB - sizeB));
+        int most = Math.min(sizeBoth, Math.min(needA, needB));
+
+        boolean progress = false;
+        if (onlyA != 0) {
+            if (needA - most == sizeA) progress |= resolve(top - 1, left - 1, onlyA, true);
+            else if (needA - fewest == 0) progress |= resolve(top - 1, left - 1, onlyA, false);
+        }
+        if (onlyB != 0) {
+            if (needB - most == sizeB) progress |= resolve(top - 1, left - 1, onlyB, true);
+            else if (needB - fewest == 0) progress |= resolve(top - 1, left - 1, onlyB, false);
+        }
+        if (fewest == most) {
+            if (most == 0) progress |= resolve(top - 1, left - 1, both, false);
+            else if (most == sizeBoth) progress |= resolve(top - 1, left - 1, both, true);
+        }
+        return progress;
+    }
+
+    /**
+     * Records the cells of a frame mask as proven, and queues the constraints around them
+     *
+     * @param top  row of the frame's top edge
+     * @param left column of the frame's left edge
+     * @param mask cells of the frame to be resolved
+     * @param mine true if the cells are mines, false if they are safe
+     * @return true if any of the cells was not already proven
+     */
+    private boolean resolve(int top, int left, int mask, boolean mine) {
+        boolean progress = false;
+        int width = board.getWidth();
+        while (mask != 0) {
+            int bit = Integer.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            int index = (top + bit / FRAME) * width + left + bit % FRAME;
+            if (isSet(safe, index) || isSet(mines, index)) continue;
+            if (mine) {
+                mines[index >>> 6] |= 1L << index;
+                mineCells.add(index);
+            } else {
+                safe[index >>> 6] |= 1L << index;
+                safeCells.add(index);
+            }
+            progress = true;
+            int n = board.getTopology().neighbors(index, neighbors);
+            for (int k = 0; k < n; ++k) {
+                if (isConstraint(neighbors[k])) enqueue(neighbors[k]);
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Refreshes a constraint's mask and need from the cells proven so far
+     *
+     * @param c flat index of a revealed, numbered cell
+     * @return the constraint's mask of unresolved cells
+     */
+    private int evaluate(int c) {
+        int row = board.rowOf(c);
+        int col = board.colOf(c);
+        int need = board.getNeighboringMines(c);
+        int mask = 0;
+        for (int dr = -1; dr <= 1; ++dr) {
+            for (int dc = -1; dc <= 1; ++dc) {
+                if ((dr == 0 && dc == 0) || !board.isInBounds(row + dr, col + dc)) continue;
+                int n = c + dr * board.getWidth() + dc;
+                if (board.isRevealed(n) || isSet(safe, n)) continue;
+                if (isSet(mines, n)) {
+                    --need;
+                } else {
+                    mask |= 1 << ((dr + 1) * 3 + dc + 1);
+                }
+            }
+        }
+        masks[c] = mask;
+        needs[c] = need;
+        return mask;
+    }
+
+    /**
+     * Queues a constraint for the single rule unless it is already queued
+     *
+     * @param c flat index of a constraint
+     */
+    private void enqueue(int c) {
+        if (!isSet(queued, c)) {
+            queued[c >>> 6] |= 1L << c;
+            queue.add(c);
+        }
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return true if the cell is revealed and touches at least one mine
+     */
+    private boolean isConstraint(int index) {
+        return board.isRevealed(index) && !board.isMine(index) && board.getNeighboringMines(index) > 0;
+    }
+
+    /**
+     * @param bits  a bitset
+     * @param index flat index of a cell
+     * @return true if the cell's bit is set
+     */
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+}
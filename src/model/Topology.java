@@ -0,0 +1,191 @@
+package model;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Precomputed neighbor tables for a board of a given size, so neighbors can be visited without bounds checks or
+ * exceptions.
+ * Cells are grouped into border classes by whether they sit on the top and/or bottom row and the left and/or right
+ * column. Every cell in a class has the same set of neighbor offsets, so the tables are stored CSR-style: the
+ * neighbors of a cell of class c are index + deltas[k] for offsets[c] &lt;= k &lt; offsets[c + 1].
+ * Interior cells have all eight offsets. Storing offsets per class instead of per cell keeps the tables a fixed
+ * few hundred bytes however large the board is.
+ *
+ * Typical use:
+ * <pre>
+ *     int[] offsets = topology.getOffsets();
+ *     int[] deltas = topology.getDeltas();
+ *     int c = topology.classOf(index);
+ *     for (int k = offsets[c]; k &lt; offsets[c + 1]; ++k) {
+ *         int neighbor = index + deltas[k];
+ *     }
+ * </pre>
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Topology {
+
+    /**
+     * Class bit for cells in the top row
+     */
+    private static final int TOP = 1;
+
+    /**
+     * Class bit for cells in the bottom row
+     */
+    private static final int BOTTOM = 2;
+
+    /**
+     * Class bit for cells in the leftmost column
+     */
+    private static final int LEFT = 4;
+
+    /**
+     * Class bit for cells in the rightmost column
+     */
+    private static final int RIGHT = 8;
+
+    /**
+     * Number of border classes
+     */
+    private static final int NUM_CLASSES = 16;
+
+    /**
+     * The most recently requested Topology; boards of the same size share it
+     */
+    private static volatile Topology cached;
+
+    /**
+     * Number of columns
+     */
+    private final int width;
+
+    /**
+     * Number of rows
+     */
+    private final int height;
+
+    /**
+     * Start of each class's run of deltas; offsets[NUM_CLASSES] is the total number of deltas
+     */
+    private final int[] offsets;
+
+    /**
+     * Index deltas from a cell to each of its neighbors, grouped by class
+     */
+    private final int[] deltas;
+
+    /**
+     * Builds the neighbor tables for a board size
+     *
+     * @param width  number of columns
+     * @param height number of rows
+     */
+    private Topology(int width, int height) {
+        this.width = width;
+        this.height = height;
+        offsets = new int[NUM_CLASSES + 1];
+        int[] scratch = new int[NUM_CLASSES * 8];
+        int size = 0;
+        for (int c = 0; c < NUM_CLASSES; ++c) {
+            offsets[c] = size;
+            for (int dr = -1; dr <= 1; ++dr) {
+                if ((dr < 0 && (c & TOP) != 0) || (dr > 0 && (c & BOTTOM) != 0)) continue;
+                for (int dc = -1; dc <= 1; ++dc) {
+                    if ((dr == 0 && dc == 0) || (dc < 0 && (c & LEFT) != 0) || (dc > 0 && (c & RIGHT) != 0)) continue;
+                    scratch[size++] = dr * width + dc;
+                }
+            }
+        }
+        offsets[NUM_CLASSES] = size;
+        deltas = new int[size];
+        System.arraycopy(scratch, 0, deltas, 0, size);
+    }
+
+    /**
+     * Gets the neighbor tables for a board size, reusing the last ones built if the size matches
+     *
+     * @param width  number of columns
+     * @param height number of rows
+     * @return the Topology for the size
+     */
+    public static Topology of(int width, int height) {
+        Topology topology = cached;
+        if (topology == null || topology.width != width || topology.height != height) {
+            topology = new Topology(width, height);
+            cached = topology;
+        }
+        return topology;
+    }
+
+    /**
+     * @param row row of a cell
+     * @param col column of a cell
+     * @return the border class of the cell
+     */
+    public int classOf(int row, int col) {
+        int c = 0;
+        if (row == 0) c |= TOP;
+        if (row == height - 1) c |= BOTTOM;
+        if (col == 0) c |= LEFT;
+        if (col == width - 1) c |= RIGHT;
+        return c;
+    }
+
+    /**
+     * @param index flat index of a cell
+     * @return the border class of the cell
+     */
+    public int classOf(int index) {
+        int row = index / width;
+        return classOf(row, index - row * width);
+    }
+
+    /**
+     * @return start of each class's run of deltas, with one extra trailing entry; must not be modified
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * @return index deltas to neighbors, grouped by class; must not be modified
+     */
+    public int[] getDeltas() {
+        return deltas;
+    }
+
+    /**
+     * Copies the indices of a cell's neighbors into an array
+     *
+     * @param index flat index of the cell
+     * @param out   array of at least eight entries to receive the neighbor indices
+     * @return the number of neighbors written to out
+     */
+    public int neighbors(int index, int[] out) {
+        int c = classOf(index);
+        int n = 0;
+        for (int k = offsets[c]; k < offsets[c + 1]; ++k) {
+            out[n++] = index + deltas[k];
+        }
+        return n;
+    }
+
+    /**
+     * @return number of columns
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return number of rows
+     */
+    public int getHeight() {
+        return height;
+    }
+
+}
@@ -0,0 +1,55 @@
+package sim;
+
+import model.Board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * A strategy for playing a Board without a GUI, as used by the Simulator.
+ * A Bot is reused for many games on one thread: newGame is called before each game, then nextMove is called for
+ * every move until the game is over.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+public interface Bot {
+
+    /**
+     * Prepares to play a new game
+     *
+     * @param board  the board to be played
+     * @param random source of any random choices, seeded for this game alone
+     */
+    void newGame(Board board, SplittableRandom random);
+
+    /**
+     * @return the flat index of the unrevealed cell to open next
+     */
+    int nextMove();
+
+    /**
+     * Picks an unrevealed cell at random
+     *
+     * @param board  the board being played
+     * @param random source of the choice
+     * @return the flat index of an unrevealed cell, or -1 if there is none
+     */
+    static int randomUnrevealedCell(Board board, SplittableRandom random) {
+        int numCells = board.getNumCells();
+        // Guessing is quick while most cells are unrevealed; once few are left, scan from a random start instead
+        for (int attempt = 0; attempt < 16; ++attempt) {
+            int index = random.nextInt(numCells);
+            if (!board.isRevealed(index)) return index;
+        }
+        int start = random.nextInt(numCells);
+        for (int i = 0; i < numCells; ++i) {
+            int index = (start + i) % numCells;
+            if (!board.isRevealed(index)) return index;
+        }
+        return -1;
+    }
+
+}
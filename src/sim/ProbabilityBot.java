@@ -0,0 +1,32 @@
+package sim;
+
+import model.ProbabilityEngine;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * A SolverBot which, when it is stuck, opens the cell least likely to be a mine according to the ProbabilityEngine
+ * instead of guessing at random.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+public class ProbabilityBot extends SolverBot {
+
+    /**
+     * Engine for the board being played, created on the first guess of each game
+     */
+    private ProbabilityEngine engine;
+
+    /**
+     * @return the flat index of the unrevealed cell least likely to be a mine
+     */
+    @Override
+    protected int guess() {
+        if (engine == null || engine.getSolver() != solver) engine = new ProbabilityEngine(solver);
+        engine.compute();
+        return engine.getSafestCell();
+    }
+
+}
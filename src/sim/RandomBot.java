@@ -0,0 +1,48 @@
+package sim;
+
+import model.Board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * A Bot which opens unrevealed cells at random - the baseline the other strategies are measured against.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+public class RandomBot implements Bot {
+
+    /**
+     * The board being played
+     */
+    private Board board;
+
+    /**
+     * Source of the moves
+     */
+    private SplittableRandom random;
+
+    /**
+     * Prepares to play a new game
+     *
+     * @param board  the board to be played
+     * @param random source of the moves, seeded for this game alone
+     */
+    @Override
+    public void newGame(Board board, SplittableRandom random) {
+        this.board = board;
+        this.random = random;
+    }
+
+    /**
+     * @return the flat index of a random unrevealed cell
+     */
+    @Override
+    public int nextMove() {
+        return Bot.randomUnrevealedCell(board, random);
+    }
+
+}
@@ -0,0 +1,132 @@
+package sim;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Totals over a number of simulated games. Every total is a whole number summed game by game, so totals for the
+ * same games are identical however the games were split between threads; only the elapsed time varies.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public class SimulationStats {
+
+    /**
+     * Number of games played
+     */
+    private long games;
+
+    /**
+     * Number of games won
+     */
+    private long wins;
+
+    /**
+     * Number of moves made, i.e. cells opened by the bot
+     */
+    private long moves;
+
+    /**
+     * Number of cells revealed, including by cascades
+     */
+    private long revealedCells;
+
+    /**
+     * Wall clock time taken, in nanoseconds
+     */
+    private long elapsedNanos;
+
+    /**
+     * Records a finished game
+     *
+     * @param won           true if the game was won
+     * @param moves         number of moves made
+     * @param revealedCells number of cells revealed
+     */
+    public void addGame(boolean won, int moves, int revealedCells) {
+        ++games;
+        if (won) ++wins;
+        this.moves += moves;
+        this.revealedCells += revealedCells;
+    }
+
+    /**
+     * Adds another set of totals to these
+     *
+     * @param other totals for other games
+     */
+    public void add(SimulationStats other) {
+        games += other.games;
+        wins += other.wins;
+        moves += other.moves;
+        revealedCells += other.revealedCells;
+    }
+
+    /**
+     * @param elapsedNanos wall clock time taken, in nanoseconds
+     */
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the number of games played
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @return the number of games won
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * @return the number of moves made
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * @return the number of cells revealed, including by cascades
+     */
+    public long getRevealedCells() {
+        return revealedCells;
+    }
+
+    /**
+     * @return the percentage of games won
+     */
+    public double getWinPercent() {
+        return games > 0 ? 100.0 * wins / games : 0;
+    }
+
+    /**
+     * @return the average number of moves per game
+     */
+    public double getMovesPerGame() {
+        return games > 0 ? (double) moves / games : 0;
+    }
+
+    /**
+     * @return the number of games played per second of wall clock time
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos > 0 ? games * 1e9 / elapsedNanos : 0;
+    }
+
+    /**
+     * @return a one line summary of the totals
+     */
+    @Override
+    public String toString() {
+        return String.format("games=%d wins=%d (%.2f%%) moves/game=%.2f revealed=%d games/s=%.0f",
+                games, wins, getWinPercent(), getMovesPerGame(), revealedCells, getGamesPerSecond());
+    }
+
+}
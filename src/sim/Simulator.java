@@ -0,0 +1,217 @@
+package sim;
+
+import model.Board;
+import model.BoardGenerator;
+import model.GameState;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Plays games between Bots and the board model with no GUI, on a pool of worker threads, and reports totals.
+ *
+ * Games are numbered from 0 and dealt out to the workers in fixed blocks. Each block is its own stream of games,
+ * seeded from the master seed and the block's number, and each game gets its board seed and its bot's random
+ * source from that stream, so every game is the same whichever worker plays it. Since the totals are sums of whole
+ * numbers, a run is reproducible from its master seed whatever the number of threads.
+ *
+ * Run from the command line with named parameters, e.g.
+ * java sim.Simulator --games=100000 --bot=solver --width=30 --height=16 --mines=99 --seed=1 --threads=4
+ * The bot is "random", "solver" or "probability"; threads defaults to the number of cores.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public final class Simulator {
+
+    /**
+     * Number of games in each block dealt to a worker
+     */
+    private static final int GAMES_PER_BLOCK = 64;
+
+    /**
+     * Number of columns
+     */
+    private final int width;
+
+    /**
+     * Number of rows
+     */
+    private final int height;
+
+    /**
+     * Number of mines
+     */
+    private final int numMines;
+
+    /**
+     * Name of the strategy: "random", "solver" or "probability"
+     */
+    private final String bot;
+
+    /**
+     * Creates a Simulator for a board configuration and strategy
+     *
+     * @param width    number of columns
+     * @param height   number of rows
+     * @param numMines number of mines
+     * @param bot      name of the strategy: "random", "solver" or "probability"
+     */
+    public Simulator(int width, int height, int numMines, String bot) {
+        this.width = width;
+        this.height = height;
+        this.numMines = numMines;
+        this.bot = bot;
+        // Fail now rather than on a worker thread if the strategy is not known
+        createBot();
+    }
+
+    /**
+     * Entry point for running simulations from the command line
+     *
+     * @param args named parameters, as described for the class
+     */
+    public static void main(String[] args) {
+        Map<String, String> parameters = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (arg.startsWith("--") && equals > 2) parameters.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        Simulator simulator = new Simulator(Integer.parseInt(parameters.getOrDefault("width", "30")),
+                Integer.parseInt(parameters.getOrDefault("height", "16")),
+                Integer.parseInt(parameters.getOrDefault("mines", "99")),
+                parameters.getOrDefault("bot", "solver"));
+        SimulationStats stats = simulator.run(Long.parseLong(parameters.getOrDefault("games", "10000")),
+                Long.parseLong(parameters.getOrDefault("seed", "0")),
+                Integer.parseInt(parameters.getOrDefault("threads",
+                        Integer.toString(Runtime.getRuntime().availableProcessors()))));
+        System.out.println(stats);
+    }
+
+    /**
+     * Plays a number of games
+     *
+     * @param games      number of games to play
+     * @param masterSeed seed every game is derived from
+     * @param threads    number of worker threads
+     * @return the totals over every game
+     */
+    public SimulationStats run(long games, long masterSeed, int threads) {
+        long started = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        SimulationStats stats;
+        try {
+            long blocks = (games + GAMES_PER_BLOCK - 1) / GAMES_PER_BLOCK;
+            stats = pool.invoke(new BlockTask(this, games, masterSeed, 0, blocks));
+        } finally {
+            pool.shutdown();
+        }
+        stats.setElapsedNanos(System.nanoTime() - started);
+        return stats;
+    }
+
+    /**
+     * Plays one block of games
+     *
+     * @param block      number of the block
+     * @param games      total number of games in the run, which the last block may stop short of
+     * @param masterSeed seed every game is derived from
+     * @return the totals over the block
+     */
+    private SimulationStats playBlock(long block, long games, long masterSeed) {
+        SimulationStats stats = new SimulationStats();
+        SplittableRandom stream = new SplittableRandom(masterSeed + block).split();
+        Bot player = createBot();
+        long end = Math.min(games, (block + 1) * GAMES_PER_BLOCK);
+        for (long game = block * GAMES_PER_BLOCK; game < end; ++game) {
+            Board board = BoardGenerator.generate(width, height, numMines, stream.nextLong(), false);
+            player.newGame(board, stream.split());
+            int moves = 0;
+            while (board.getGameState() == GameState.IN_PROGRESS) {
+                board.reveal(player.nextMove());
+                ++moves;
+            }
+            stats.addGame(board.getGameState() == GameState.WON, moves, board.getRevealedCells());
+        }
+        return stats;
+    }
+
+    /**
+     * @return a new Bot playing the strategy
+     * @throws IllegalArgumentException if the strategy is not known
+     */
+    private Bot createBot() {
+        switch (bot) {
+            case "random":
+                return new RandomBot();
+            case "solver":
+                return new SolverBot();
+            case "probability":
+                return new ProbabilityBot();
+            default:
+                throw new IllegalArgumentException("Unknown bot: " + bot);
+        }
+    }
+
+    /**
+     * Fork-join task playing a range of blocks and summing their totals in block order
+     */
+    @SuppressWarnings("serial")
+    private static final class BlockTask extends RecursiveTask<SimulationStats> {
+
+        /**
+         * Simulator the games are played for
+         */
+        private final Simulator simulator;
+
+        /**
+         * Total number of games in the run
+         */
+        private final long games;
+
+        /**
+         * Seed every game is derived from
+         */
+        private final long masterSeed;
+
+        /**
+         * First block, inclusive
+         */
+        private final long from;
+
+        /**
+         * Last block, exclusive
+         */
+        private final long to;
+
+        BlockTask(Simulator simulator, long games, long masterSeed, long from, long to) {
+            this.simulator = simulator;
+            this.games = games;
+            this.masterSeed = masterSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= 1) {
+                return from < to ? simulator.playBlock(from, games, masterSeed) : new SimulationStats();
+            }
+            long mid = (from + to) >>> 1;
+            BlockTask left = new BlockTask(simulator, games, masterSeed, from, mid);
+            BlockTask right = new BlockTask(simulator, games, masterSeed, mid, to);
+            right.fork();
+            SimulationStats stats = left.compute();
+            stats.add(right.join());
+            return stats;
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package sim;
+
+import model.Board;
+import model.CellBatch;
+import model.Solver;
+
+import java.util.SplittableRandom;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * A Bot which opens the cells the Solver proves safe, and guesses at random when it is stuck.
+ * Every safe cell from one solve is played before solving again, skipping any a cascade has already opened.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+public class SolverBot implements Bot {
+
+    /**
+     * The board being played
+     */
+    protected Board board;
+
+    /**
+     * Source of the guesses
+     */
+    protected SplittableRandom random;
+
+    /**
+     * Solver for the board being played
+     */
+    protected Solver solver;
+
+    /**
+     * Safe cells from the last solve still to be played
+     */
+    private int[] pending;
+
+    /**
+     * Number of cells in pending
+     */
+    private int pendingCount;
+
+    /**
+     * Position of the next cell to be played in pending
+     */
+    private int pendingNext;
+
+    /**
+     * Creates a SolverBot
+     */
+    public SolverBot() {
+        pending = new int[64];
+    }
+
+    /**
+     * Prepares to play a new game
+     *
+     * @param board  the board to be played
+     * @param random source of the guesses, seeded for this game alone
+     */
+    @Override
+    public void newGame(Board board, SplittableRandom random) {
+        this.board = board;
+        this.random = random;
+        solver = new Solver(board);
+        pendingCount = 0;
+        pendingNext = 0;
+    }
+
+    /**
+     * @return the flat index of a cell proven safe, or of a guess if there is none
+     */
+    @Override
+    public int nextMove() {
+        while (pendingNext < pendingCount) {
+            int index = pending[pendingNext++];
+            if (!board.isRevealed(index)) return index;
+        }
+        solver.solve();
+        CellBatch safeCells = solver.getSafeCells();
+        if (safeCells.isEmpty()) return guess();
+        if (pending.length < safeCells.size()) pending = new int[Math.max(safeCells.size(), 2 * pending.length)];
+        pendingCount = safeCells.size();
+        for (int i = 0; i < pendingCount; ++i) {
+            pending[i] = safeCells.get(i);
+        }
+        pendingNext = 1;
+        return pending[0];
+    }
+
+    /**
+     * Chooses a cell when nothing can be proven safe
+     *
+     * @return the flat index of a random unrevealed cell which is not proven to be a mine
+     */
+    protected int guess() {
+        int index = Bot.randomUnrevealedCell(board, random);
+        for (int attempt = 0; attempt < 16 && solver.isMine(index); ++attempt) {
+            index = Bot.randomUnrevealedCell(board, random);
+        }
+        return index;
+    }
+
+}
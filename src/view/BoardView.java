@@ -0,0 +1,113 @@
+package view;
+
+import control.BoardDiff;
+import javafx.scene.Node;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import model.Board;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * A BoardView displays a model.Board and forwards the player's clicks to the Controller.
+ * GameBoard draws the Board with one Cell button per cell; VirtualBoard with Cell buttons for the cells in the
+ * viewport only; CanvasBoard draws it on a single Canvas.
+ * While a game is played the Board is changed on the GameEngine's game-logic thread, so a view draws from its own
+ * copy of the cells' states, which is brought up to date by the BoardDiffs the engine publishes.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings("WeakerAccess")
+public interface BoardView {
+
+    /**
+     * Decides whether a mouse press is a chord: a middle click, or a click with both the primary and secondary
+     * buttons held down
+     *
+     * @param event the mouse press
+     * @return true if the press is a chord
+     */
+    static boolean isChord(MouseEvent event) {
+        return event.getButton() == MouseButton.MIDDLE
+                || (event.isPrimaryButtonDown() && event.isSecondaryButtonDown());
+    }
+
+    /**
+     * @return the headless model being displayed
+     */
+    Board getBoard();
+
+    /**
+     * @return the scene graph node to place in the window
+     */
+    Node getNode();
+
+    /**
+     * Sets whether or not clicks on the view will have any effect
+     *
+     * @param isClickable true if setting the view to be clickable, false if not
+     */
+    void setClickable(boolean isClickable);
+
+    /**
+     * @return whether or not clicks on the view will have any effect, i.e. whether a game is being played on it
+     */
+    boolean isClickable();
+
+    /**
+     * Redraws a single cell to match its state in the view's copy of the Board
+     *
+     * @param index index of the cell to be drawn
+     */
+    void renderCell(int index);
+
+    /**
+     * Copies every cell's state from the Board and redraws every cell, or every visible cell - to be called on the
+     * FX Application Thread when the Board has changed without a BoardDiff, e.g. when a Replay seeks
+     */
+    void renderAll();
+
+    /**
+     * Sets the most time to spend drawing changed cells in a frame; the cells of a larger reveal are drawn over as
+     * many frames as they need, spreading out from the cell clicked, see DirtyCells
+     *
+     * @param nanos the time in nanoseconds, or 0 to draw every changed cell in the next frame
+     */
+    void setFrameBudget(long nanos);
+
+    /**
+     * Takes the new states of the cells changed by a batch of moves and redraws those cells, or every cell if the
+     * diff is of the whole board
+     *
+     * @param diff the result of the moves
+     */
+    void renderDiff(BoardDiff diff);
+
+    /**
+     * Outlines a cell suggested for the player to open next by a hint which could prove no cell safe, until the
+     * next diff is drawn or the game ends
+     *
+     * @param index index of the cell
+     */
+    void showGuess(int index);
+
+    /**
+     * Copies every cell's state from the Board, redraws every cell and clears the end of game display - to be
+     * called when the Board has been given a new layout in place, with nothing else changing it, to start a new game
+     * on the same view
+     */
+    void reset();
+
+    /**
+     * Disables all bombs and marked cells - to be called at the end of the game
+     */
+    void disableAllBombsAndMarkedCells();
+
+    /**
+     * Marks all unmarked bombs - to be called if the user has won
+     */
+    void markBombsOnWin();
+
+}
@@ -0,0 +1,417 @@
+package view;
+
+import control.BoardDiff;
+import control.Controller;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import model.Board;
+import model.CellBatch;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Draws a model.Board on a single Canvas instead of using one Cell button per cell.
+ * Every tile the board can show is drawn once into a cached Image (see TileSet), and the board is painted by
+ * blitting those Images for the visible cells only. Mouse coordinates are hit-tested back to cells, and the scroll
+ * wheel pans boards that are larger than the window. A middle click, or a click with both buttons, chords a number.
+ * The cells changed by moves are drawn together at the next pulse (see DirtyCells): only those cells are repainted,
+ * unless there are at least as many as are visible, in which case the visible part of the board is redrawn in one go.
+ * The cell a hint suggests guessing is outlined, and scrolled into view if need be.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings({"WeakerAccess", "CanBeFinal"})
+public class CanvasBoard extends Region implements BoardView {
+
+    /**
+     * Width and height of a cell in pixels
+     */
+    private static final double TILE_SIZE = TileSet.TILE_SIZE;
+
+    /**
+     * Largest width or height the board will ask for, in pixels
+     */
+    private static final double MAX_VIEWPORT = 640;
+
+    /**
+     * Color of the outline of the cell a hint suggests guessing, matching GameNodeStyles.css
+     */
+    private static final Color GUESS_COLOR = Color.DARKORANGE;
+
+    /**
+     * Width of the outline of the cell a hint suggests guessing, in pixels
+     */
+    private static final double GUESS_WIDTH = 3;
+
+    /**
+     * The cached tile Images cells are drawn with
+     */
+    private final Image[] tiles;
+
+    /**
+     * The overruling Controller for the CanvasBoard to allow interaction with other aspects of the game
+     */
+    private Controller controller;
+
+    /**
+     * The headless model being displayed
+     */
+    private Board board;
+
+    /**
+     * The Canvas the board is drawn on; it is only as large as the visible part of the board
+     */
+    private Canvas canvas;
+
+    /**
+     * Determines whether or not clicks will have any effect on the CanvasBoard
+     */
+    private boolean isClickable;
+
+    /**
+     * True once the game has ended and bombs and marked cells are to be shown
+     */
+    private boolean isOver;
+
+    /**
+     * True if the game ended in a win
+     */
+    private boolean isWon;
+
+    /**
+     * Horizontal scroll offset in pixels
+     */
+    private double scrollX;
+
+    /**
+     * Vertical scroll offset in pixels
+     */
+    private double scrollY;
+
+    /**
+     * Cells changed by moves, waiting to be drawn at the next pulse
+     */
+    private DirtyCells dirtyCells;
+
+    /**
+     * Index of the cell outlined as the guess suggested by a hint, or -1
+     */
+    private int guessCell;
+
+    /**
+     * Creates a new CanvasBoard displaying a Board
+     *
+     * @param controller the overruling Controller for the CanvasBoard
+     * @param board      the headless model to be displayed
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public CanvasBoard(Controller controller, Board board) {
+        this.controller = controller;
+        this.board = board;
+        isClickable = false;
+        isOver = false;
+        isWon = false;
+        guessCell = -1;
+        tiles = TileSet.getTiles();
+
+        canvas = new Canvas();
+        getChildren().add(canvas);
+        dirtyCells = new DirtyCells(board) {
+            @Override
+            protected void apply(CellBatch batch, int from, int to) {
+                drawCells(batch, from, to);
+            }
+        };
+
+        double prefWidth = Math.min(board.getWidth() * TILE_SIZE, MAX_VIEWPORT);
+        double prefHeight = Math.min(board.getHeight() * TILE_SIZE, MAX_VIEWPORT);
+        setPrefSize(prefWidth, prefHeight);
+        setMinSize(Math.min(prefWidth, 4 * TILE_SIZE), Math.min(prefHeight, 4 * TILE_SIZE));
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+
+        setOnMousePressed(new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                int index = cellAt(event.getX(), event.getY());
+                if (isClickable && index >= 0) {
+                    if (BoardView.isChord(event)) {
+                        CanvasBoard.this.controller.chordCell(index);
+                    } else if (event.getButton() == MouseButton.SECONDARY) {
+                        CanvasBoard.this.controller.markCell(index);
+                    } else if (event.getButton() == MouseButton.PRIMARY) {
+                        CanvasBoard.this.controller.openCell(index);
+                    }
+                }
+            }
+        });
+        setOnScroll(new EventHandler<ScrollEvent>() {
+            @Override
+            public void handle(ScrollEvent event) {
+                scrollTo(scrollX - event.getDeltaX(), scrollY - event.getDeltaY());
+            }
+        });
+    }
+
+    /**
+     * Resizes the Canvas to fill the CanvasBoard and redraws it
+     */
+    @Override
+    protected void layoutChildren() {
+        if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+            canvas.setWidth(getWidth());
+            canvas.setHeight(getHeight());
+            scrollTo(scrollX, scrollY);
+            redraw();
+        }
+    }
+
+    /**
+     * Scrolls the visible part of the board, keeping it within the board's bounds
+     *
+     * @param x new horizontal scroll offset in pixels
+     * @param y new vertical scroll offset in pixels
+     */
+    private void scrollTo(double x, double y) {
+        double maxX = Math.max(0, board.getWidth() * TILE_SIZE - canvas.getWidth());
+        double maxY = Math.max(0, board.getHeight() * TILE_SIZE - canvas.getHeight());
+        x = Math.min(Math.max(x, 0), maxX);
+        y = Math.min(Math.max(y, 0), maxY);
+        if (x != scrollX || y != scrollY) {
+            scrollX = x;
+            scrollY = y;
+            redraw();
+        }
+    }
+
+    /**
+     * Hit-tests a point on the CanvasBoard
+     *
+     * @param x horizontal coordinate, local to the CanvasBoard
+     * @param y vertical coordinate, local to the CanvasBoard
+     * @return the index of the cell under the point, or -1 if there is none
+     */
+    private int cellAt(double x, double y) {
+        int col = (int) Math.floor((x + scrollX) / TILE_SIZE);
+        int row = (int) Math.floor((y + scrollY) / TILE_SIZE);
+        return board.isInBounds(row, col) ? board.indexOf(row, col) : -1;
+    }
+
+    /**
+     * Redraws every visible cell
+     */
+    private void redraw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        int firstCol = (int) (scrollX / TILE_SIZE);
+        int firstRow = (int) (scrollY / TILE_SIZE);
+        int lastCol = Math.min(board.getWidth() - 1, (int) ((scrollX + canvas.getWidth()) / TILE_SIZE));
+        int lastRow = Math.min(board.getHeight() - 1, (int) ((scrollY + canvas.getHeight()) / TILE_SIZE));
+        for (int row = firstRow; row <= lastRow; ++row) {
+            for (int col = firstCol; col <= lastCol; ++col) {
+                drawCell(gc, board.indexOf(row, col), col * TILE_SIZE - scrollX, row * TILE_SIZE - scrollY);
+            }
+        }
+    }
+
+    /**
+     * Draws a cell's tile, and its outline if it is the guess suggested by a hint
+     *
+     * @param gc    the Canvas's GraphicsContext
+     * @param index index of the cell
+     * @param x     horizontal position of the cell on the Canvas
+     * @param y     vertical position of the cell on the Canvas
+     */
+    private void drawCell(GraphicsContext gc, int index, double x, double y) {
+        gc.drawImage(tiles[tileFor(index)], x, y);
+        if (index != guessCell) return;
+        gc.setStroke(GUESS_COLOR);
+        gc.setLineWidth(GUESS_WIDTH);
+        gc.strokeRect(x + GUESS_WIDTH / 2, y + GUESS_WIDTH / 2, TILE_SIZE - GUESS_WIDTH, TILE_SIZE - GUESS_WIDTH);
+    }
+
+    /**
+     * Chooses the tile which shows the current state of a cell
+     *
+     * @param index index of the cell
+     * @return index of the tile in tiles
+     */
+    private int tileFor(int index) {
+        return TileSet.tileFor(dirtyCells.getState(index), isOver, isWon);
+    }
+
+    /**
+     * @return the headless model being displayed
+     */
+    @Override
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return this CanvasBoard
+     */
+    @Override
+    public Node getNode() {
+        return this;
+    }
+
+    /**
+     * Sets whether or not clicks on the CanvasBoard will have any effect
+     *
+     * @param isClickable true if setting the CanvasBoard to be clickable, false if not
+     */
+    @Override
+    public void setClickable(boolean isClickable) {
+        this.isClickable = isClickable;
+    }
+
+    /**
+     * @return whether or not the CanvasBoard is clickable
+     */
+    @Override
+    public boolean isClickable() {
+        return isClickable;
+    }
+
+    /**
+     * Redraws a single cell if it is visible
+     *
+     * @param index index of the cell to be drawn
+     */
+    @Override
+    public void renderCell(int index) {
+        double x = board.colOf(index) * TILE_SIZE - scrollX;
+        double y = board.rowOf(index) * TILE_SIZE - scrollY;
+        if (x > -TILE_SIZE && x < canvas.getWidth() && y > -TILE_SIZE && y < canvas.getHeight()) {
+            drawCell(canvas.getGraphicsContext2D(), index, x, y);
+        }
+    }
+
+    /**
+     * Sets the most time to spend drawing changed cells in a frame
+     *
+     * @param nanos the time in nanoseconds, or 0 to draw every changed cell in the next frame
+     */
+    @Override
+    public void setFrameBudget(long nanos) {
+        dirtyCells.setFrameBudget(nanos);
+    }
+
+    /**
+     * Draws the visible cells changed by a batch of moves at the next pulse, along with any other moves made before
+     * it, or redraws the whole view if the diff is of the whole board, and clears the outline of the last guess
+     *
+     * @param diff the result of the moves
+     */
+    @Override
+    public void renderDiff(BoardDiff diff) {
+        clearGuess();
+        dirtyCells.addAll(diff);
+        if (diff.isWholeBoard()) {
+            dirtyCells.flush();
+            redraw();
+        }
+    }
+
+    /**
+     * Draws the visible cells of a slice of a batch, or redraws the whole view if that is less work
+     *
+     * @param batch the cells to be drawn
+     * @param from  position in batch of the first cell to be drawn
+     * @param to    position in batch after the last cell to be drawn
+     */
+    private void drawCells(CellBatch batch, int from, int to) {
+        double visibleCells = Math.ceil(canvas.getWidth() / TILE_SIZE + 1)
+                * Math.ceil(canvas.getHeight() / TILE_SIZE + 1);
+        if (to - from >= visibleCells) {
+            redraw();
+            return;
+        }
+        for (int i = from; i < to; ++i) {
+            renderCell(batch.get(i));
+        }
+    }
+
+    /**
+     * Copies every cell's state from the Board and redraws every visible cell - to be called when the Board has
+     * changed without a BoardDiff, e.g. when a Replay seeks
+     */
+    @Override
+    public void renderAll() {
+        dirtyCells.flush();
+        dirtyCells.copyBoard();
+        redraw();
+    }
+
+    /**
+     * Copies every cell's state from the Board, redraws every visible cell and clears the end of game display, for a
+     * new game on the same CanvasBoard
+     */
+    @Override
+    public void reset() {
+        guessCell = -1;
+        isOver = false;
+        isWon = false;
+        renderAll();
+    }
+
+    /**
+     * Outlines the cell a hint suggests guessing, scrolling it into view if need be, until the next diff is drawn or
+     * the game ends
+     *
+     * @param index index of the cell
+     */
+    @Override
+    public void showGuess(int index) {
+        clearGuess();
+        guessCell = index;
+        double x = board.colOf(index) * TILE_SIZE;
+        double y = board.rowOf(index) * TILE_SIZE;
+        if (x < scrollX || x + TILE_SIZE > scrollX + canvas.getWidth()
+                || y < scrollY || y + TILE_SIZE > scrollY + canvas.getHeight()) {
+            scrollTo(x + (TILE_SIZE - canvas.getWidth()) / 2, y + (TILE_SIZE - canvas.getHeight()) / 2);
+        }
+        renderCell(index);
+    }
+
+    /**
+     * Clears the outline of the guess suggested by a hint, if there is one
+     */
+    private void clearGuess() {
+        int old = guessCell;
+        guessCell = -1;
+        if (old >= 0) renderCell(old);
+    }
+
+    /**
+     * Shows all bombs and marked cells - to be called at the end of the game
+     */
+    @Override
+    public void disableAllBombsAndMarkedCells() {
+        dirtyCells.flush();
+        guessCell = -1;
+        isOver = true;
+        redraw();
+    }
+
+    /**
+     * Marks all unmarked bombs - to be called if the user has won
+     */
+    @Override
+    public void markBombsOnWin() {
+        dirtyCells.flush();
+        isWon = true;
+        redraw();
+    }
+
+}
@@ -1,13 +1,19 @@
 package view;
 
+import javafx.css.PseudoClass;
 import javafx.scene.control.Button;
+import model.Board;
 
 /**
  * Kvarfordt-Tanner-Assn8
  * Created on 11/20/2016
  *
  * GameNodes will be used to populate the GameBoard for the minesweeperish game.
- * Each Cell knows its grid location in the GameBoard, and whether or not it is a mine/bomb.
+ * Each Cell knows its grid location in the GameBoard. Whether or not it is a mine/bomb, and how many bombs it
+ * touches, is kept in the GameBoard's model.Board - the Cell only displays it.
+ * Cells are styled by GameNodeStyles.css, which is loaded once for the whole scene rather than by each Cell. What a
+ * Cell shows is selected with the :mine and :marked pseudo-classes, which only re-style the Cell whose state
+ * changed, and only when it changed; :guess outlines the Cell a hint suggests guessing.
  *
  * @author Tanner Kvarfordt
  * @version 1.0
@@ -16,42 +22,140 @@ import javafx.scene.control.Button;
 public class Cell extends Button {
 
     /**
-     * Row of the GameBoard in which the Cell is located
+     * Style class of every Cell, which GameNodeStyles.css selects Cells by
      */
-    private int row;
+    public static final String STYLE_CLASS = "game-cell";
 
     /**
-     * Column of the GameBoard in which the Cell is located
+     * Text of a revealed cell, indexed by its number of neighboring bombs
      */
-    private int col;
+    private static final String[] COUNT_TEXT = {"0", "1", "2", "3", "4", "5", "6", "7", "8"};
+
+    /**
+     * Pseudo-class of a Cell which holds a bomb
+     */
+    private static final PseudoClass MINE = PseudoClass.getPseudoClass("mine");
+
+    /**
+     * Pseudo-class of a Cell which has been flagged or question marked
+     */
+    private static final PseudoClass MARKED = PseudoClass.getPseudoClass("marked");
+
+    /**
+     * Pseudo-class of a Cell outlined as the guess suggested by a hint
+     */
+    private static final PseudoClass GUESS = PseudoClass.getPseudoClass("guess");
+
+    /**
+     * True if the Cell is styled as holding a bomb
+     */
+    private boolean isMine;
+
+    /**
+     * True if the Cell is styled as marked
+     */
+    private boolean isMarked;
 
     /**
-     * Flag stating whether or not this Cell contains a mine/bomb
+     * True if the Cell is outlined as the guess suggested by a hint
      */
-    private boolean isBomb;
+    private boolean isGuess;
 
     /**
-     * The number of bombs/mines the Cell touches
+     * Row of the GameBoard in which the Cell is located
      */
-    private int neighboringBombs;
+    private int row;
+
+    /**
+     * Column of the GameBoard in which the Cell is located
+     */
+    private int col;
 
     /**
      * Cell Constructor - initializes all member variables
      * Sets button text to null
      *
-     * @param isBomb flags the new Cell as a bomb if true
+     * @param row    the Cell's row index in the grid
+     * @param column the Cell's column index in the grid
      */
-    public Cell(boolean isBomb) {
+    public Cell(int row, int column) {
         this();
         this.setText(null);
-        neighboringBombs = 0;
-        this.isBomb = isBomb;
+        setGridCoords(row, column);
         this.setMinWidth(32);
         this.setMinHeight(32);
     }
 
     private Cell() {
-        this.getStylesheets().addAll("view/GameNodeStyles.css");
+        getStyleClass().add(STYLE_CLASS);
+    }
+
+    /**
+     * Sets the pseudo-classes the Cell is styled by; a pseudo-class is only changed if its value is new
+     *
+     * @param isMine   true if the Cell holds a bomb
+     * @param isMarked true if the Cell has been flagged or question marked
+     */
+    public void setStyleState(boolean isMine, boolean isMarked) {
+        if (this.isMine != isMine) {
+            this.isMine = isMine;
+            pseudoClassStateChanged(MINE, isMine);
+        }
+        if (this.isMarked != isMarked) {
+            this.isMarked = isMarked;
+            pseudoClassStateChanged(MARKED, isMarked);
+        }
+    }
+
+    /**
+     * Sets whether the Cell is outlined as the guess suggested by a hint, with the :guess pseudo-class
+     *
+     * @param isGuess true to outline the Cell
+     */
+    public void setGuess(boolean isGuess) {
+        if (this.isGuess != isGuess) {
+            this.isGuess = isGuess;
+            pseudoClassStateChanged(GUESS, isGuess);
+        }
+    }
+
+    /**
+     * Updates the text, pseudo-classes and disabled state of the Cell to show the state of a cell of a Board
+     *
+     * @param state the cell's state, as returned by Board.getState
+     */
+    public void render(int state) {
+        boolean isMine = (state & Board.MINE) != 0;
+        if ((state & Board.REVEALED) != 0) {
+            setDisable(true);
+            setStyleState(isMine, false);
+            setText(isMine ? "B" : COUNT_TEXT[state & Board.COUNT_MASK]);
+        } else if ((state & Board.MARK_MASK) != 0) {
+            setDisable(false);
+            setStyleState(isMine, true);
+            setText((state & Board.FLAGGED) != 0 ? "X" : "?");
+        } else {
+            setDisable(false);
+            setStyleState(isMine, false);
+            setText(null);
+        }
+    }
+
+    /**
+     * Shows the bomb or mark the Cell holds once the game is over, disabling it if it holds either.
+     * On a win, bombs are shown as marked.
+     *
+     * @param state the cell's state, as returned by Board.getState
+     * @param isWon true if the game was won
+     */
+    public void renderGameOver(int state, boolean isWon) {
+        boolean isMine = (state & Board.MINE) != 0;
+        if (isWon && isMine) {
+            setStyleState(true, true);
+            setText("X");
+        }
+        if (isMine && getText() == null) setText("B");
+        if (isMine || (state & Board.MARK_MASK) != 0) setDisable(true);
     }
 
     /**
@@ -99,25 +203,4 @@ public class Cell extends Button {
         return col;
     }
 
-    /**
-     * Increments neighboringBombs count by 1
-     */
-    public void incNeighboringBombs() {
-        ++neighboringBombs;
-    }
-
-    /**
-     * @return true if the Cell is a bomb, false otherwise
-     */
-    public boolean isBomb() {
-        return isBomb;
-    }
-
-    /**
-     * @return the number of bombs/mines the Cell touches
-     */
-    public int getNeighboringBombs() {
-        return neighboringBombs;
-    }
-
 }
@@ -0,0 +1,189 @@
+package view;
+
+import control.BoardDiff;
+import javafx.animation.AnimationTimer;
+import model.Board;
+import model.CellBatch;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Collects the cells changed by moves until the next JavaFX pulse, then hands them to apply in batches.
+ *
+ * The GameEngine makes moves on its game-logic thread and publishes each batch's changed cells as a BoardDiff through
+ * Platform.runLater. Drawing them straight away would touch the scene graph once per cell per diff; instead a
+ * BoardView adds them here, and they are drawn together at the start of the next pulse, before CSS and layout run, so
+ * the scene is laid out and rendered once however many cells and diffs went into the frame. A cell changed by several
+ * diffs before it is drawn is drawn once.
+ *
+ * With a frame budget set, a large reveal is drawn progressively: each pulse draws the waiting cells in the order they
+ * were added, a slice at a time, until the budget is spent, and leaves the rest for the next pulse. The Board lists a
+ * reveal's cells breadth-first from the cell clicked, so the reveal spreads out from the click as a wave over as
+ * many frames as it needs, instead of one frame taking as long as the whole reveal. Only the drawing is spread out:
+ * the Board, and so whether the game was won or lost, is final as soon as the engine has made the move, and the
+ * BoardDiff saying so may arrive before the last of its cells are drawn.
+ * The AnimationTimer only runs while there are cells waiting.
+ *
+ * DirtyCells also holds the view's own copy of the state of every cell, which the view draws from instead of the
+ * Board: the Board belongs to the GameEngine's game-logic thread while a game is played, and the copy is only brought
+ * up to date from the BoardDiffs it publishes.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+abstract class DirtyCells extends AnimationTimer {
+
+    /**
+     * The Board the cells are drawn from
+     */
+    private final Board board;
+
+    /**
+     * Packed state of every cell as it is to be drawn, row-major; only touched by the FX Application Thread
+     */
+    private final byte[] states;
+
+    /**
+     * Cells waiting to be drawn, each once
+     */
+    private final CellBatch cells;
+
+    /**
+     * Number of cells drawn between checks of the time spent in a pulse
+     */
+    private static final int SLICE = 64;
+
+    /**
+     * Bitset of the cells in cells which have not been drawn yet
+     */
+    private final long[] isDirty;
+
+    /**
+     * Position in cells of the first cell not drawn yet
+     */
+    private int head;
+
+    /**
+     * Most time to spend drawing cells in a pulse, in nanoseconds, or 0 to draw every waiting cell in the next pulse
+     */
+    private long frameBudget;
+
+    /**
+     * Creates an empty DirtyCells, copying the state of every cell from a Board which nothing else is changing
+     *
+     * @param board the Board the cells are drawn from
+     */
+    DirtyCells(Board board) {
+        this.board = board;
+        states = new byte[board.getNumCells()];
+        cells = new CellBatch(64);
+        isDirty = new long[(states.length + 63) >>> 6];
+        board.copyStates(states);
+    }
+
+    /**
+     * @param index index of a cell
+     * @return the packed state the cell is to be drawn in, as returned by Board.getState
+     */
+    int getState(int index) {
+        return states[index] & 0xFF;
+    }
+
+    /**
+     * Copies the state of every cell from the Board - to be called when the Board has been changed by the FX
+     * Application Thread itself, e.g. reset in place for a new game once the GameEngine has stopped, or seeked by a
+     * Replay. The cells still waiting are drawn in the new states.
+     */
+    void copyBoard() {
+        board.copyStates(states);
+    }
+
+    /**
+     * Takes the new states of the cells changed by a batch of moves, and adds the cells to be drawn at the next
+     * pulse. A diff of the whole board only takes the states; the view redraws every cell itself.
+     *
+     * @param diff the result of the moves
+     */
+    void addAll(BoardDiff diff) {
+        diff.copyStates(states);
+        for (int i = 0; i < diff.getNumCells(); ++i) {
+            int index = diff.getCell(i);
+            long bit = 1L << index;
+            if ((isDirty[index >>> 6] & bit) == 0) {
+                isDirty[index >>> 6] |= bit;
+                cells.add(index);
+            }
+        }
+        if (!cells.isEmpty()) start();
+    }
+
+    /**
+     * Sets the most time to spend drawing cells in a pulse. The time is that of the drawing alone; CSS and layout of
+     * what was drawn come on top, so the budget is best kept well under the length of a frame.
+     *
+     * @param frameBudget the time in nanoseconds, or 0 to draw every waiting cell in the next pulse
+     */
+    void setFrameBudget(long frameBudget) {
+        this.frameBudget = frameBudget;
+    }
+
+    /**
+     * Draws every waiting cell now - to be called before anything is drawn over them, e.g. at the end of the game
+     */
+    void flush() {
+        stop();
+        if (head < cells.size()) apply(cells, head, cells.size());
+        markDrawn(cells.size());
+    }
+
+    /**
+     * Draws the waiting cells at the start of a pulse, or as many as the frame budget allows
+     *
+     * @param now time of the pulse in nanoseconds
+     */
+    @Override
+    public void handle(long now) {
+        if (frameBudget <= 0) {
+            flush();
+            return;
+        }
+        long deadline = System.nanoTime() + frameBudget;
+        int end = head;
+        do {
+            int next = Math.min(end + SLICE, cells.size());
+            apply(cells, end, next);
+            end = next;
+        } while (end < cells.size() && System.nanoTime() < deadline);
+        markDrawn(end);
+        if (cells.isEmpty()) stop();
+    }
+
+    /**
+     * Clears the dirty bits of the cells drawn, so a later move changing them again adds them again, and forgets
+     * the waiting cells once they have all been drawn
+     *
+     * @param end position in cells of the first cell not drawn
+     */
+    private void markDrawn(int end) {
+        for (int i = head; i < end; ++i) {
+            int index = cells.get(i);
+            isDirty[index >>> 6] &= ~(1L << index);
+        }
+        head = end;
+        if (head == cells.size()) {
+            cells.clear();
+            head = 0;
+        }
+    }
+
+    /**
+     * Draws a slice of the waiting cells
+     *
+     * @param batch the waiting cells, each once
+     * @param from  position in batch of the first cell to be drawn
+     * @param to    position in batch after the last cell to be drawn
+     */
+    protected abstract void apply(CellBatch batch, int from, int to);
+
+}
@@ -0,0 +1,220 @@
+package view;
+
+import control.Controller;
+import javafx.animation.AnimationTimer;
+import javafx.event.EventHandler;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import model.ChunkedBoard;
+import model.GameState;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Draws an endless model.ChunkedBoard on a single Canvas, with the same cached tiles as CanvasBoard.
+ * Only the cells inside the viewport are drawn, so only the chunks under the viewport (and those a reveal cascades
+ * into) are ever generated. The scroll wheel and the arrow keys pan the viewport in any direction, without limit.
+ * A cascade too large to reveal in one step is carried on a step at a time, one step per frame, so the view keeps
+ * responding however far it spreads.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings({"WeakerAccess", "CanBeFinal"})
+public class EndlessBoardView extends Region {
+
+    /**
+     * Width and height of a cell in pixels
+     */
+    private static final double TILE_SIZE = TileSet.TILE_SIZE;
+
+    /**
+     * Width and height of the viewport in pixels
+     */
+    private static final double VIEWPORT_SIZE = 640;
+
+    /**
+     * The cached tile Images cells are drawn with
+     */
+    private final Image[] tiles;
+
+    /**
+     * The overruling Controller for the view to allow interaction with other aspects of the game
+     */
+    private Controller controller;
+
+    /**
+     * The endless board being displayed
+     */
+    private ChunkedBoard board;
+
+    /**
+     * The Canvas the viewport is drawn on
+     */
+    private Canvas canvas;
+
+    /**
+     * Determines whether or not clicks will have any effect on the view
+     */
+    private boolean isClickable;
+
+    /**
+     * True once a bomb has been opened and bombs and marked cells are to be shown
+     */
+    private boolean isOver;
+
+    /**
+     * Horizontal position of the viewport's left edge in pixels, relative to column 0
+     */
+    private double originX;
+
+    /**
+     * Vertical position of the viewport's top edge in pixels, relative to row 0
+     */
+    private double originY;
+
+    /**
+     * Carries on a pending cascade one step per pulse, running only while there is one
+     */
+    private AnimationTimer cascadeTimer;
+
+    /**
+     * Creates a new view of an endless board, centered on cell (0, 0)
+     *
+     * @param controller the overruling Controller for the view
+     * @param board      the endless board to be displayed
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public EndlessBoardView(Controller controller, ChunkedBoard board) {
+        this.controller = controller;
+        this.board = board;
+        isClickable = false;
+        isOver = false;
+        tiles = TileSet.getTiles();
+        originX = -VIEWPORT_SIZE / 2;
+        originY = -VIEWPORT_SIZE / 2;
+
+        cascadeTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                EndlessBoardView.this.board.continueCascade();
+                if (!EndlessBoardView.this.board.isCascading()) stop();
+                redraw();
+            }
+        };
+
+        canvas = new Canvas(VIEWPORT_SIZE, VIEWPORT_SIZE);
+        getChildren().add(canvas);
+        setPrefSize(VIEWPORT_SIZE, VIEWPORT_SIZE);
+        setMinSize(VIEWPORT_SIZE, VIEWPORT_SIZE);
+        setMaxSize(VIEWPORT_SIZE, VIEWPORT_SIZE);
+        setFocusTraversable(true);
+
+        setOnMousePressed(new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                requestFocus();
+                if (!isClickable) return;
+                int row = (int) Math.floor((event.getY() + originY) / TILE_SIZE);
+                int col = (int) Math.floor((event.getX() + originX) / TILE_SIZE);
+                if (event.getButton() == MouseButton.SECONDARY) {
+                    EndlessBoardView.this.board.cycleMark(row, col);
+                    redraw();
+                } else if (EndlessBoardView.this.board.reveal(row, col) > 0) {
+                    if (EndlessBoardView.this.board.getGameState() == GameState.LOST) {
+                        isClickable = false;
+                        isOver = true;
+                        cascadeTimer.stop();
+                        redraw();
+                        EndlessBoardView.this.controller.endEndlessGame(EndlessBoardView.this.board);
+                    } else {
+                        if (EndlessBoardView.this.board.isCascading()) cascadeTimer.start();
+                        redraw();
+                    }
+                }
+            }
+        });
+        setOnScroll(new EventHandler<ScrollEvent>() {
+            @Override
+            public void handle(ScrollEvent event) {
+                panBy(-event.getDeltaX(), -event.getDeltaY());
+            }
+        });
+        setOnKeyPressed(new EventHandler<KeyEvent>() {
+            @Override
+            public void handle(KeyEvent event) {
+                switch (event.getCode()) {
+                    case LEFT:
+                        panBy(-TILE_SIZE, 0);
+                        break;
+                    case RIGHT:
+                        panBy(TILE_SIZE, 0);
+                        break;
+                    case UP:
+                        panBy(0, -TILE_SIZE);
+                        break;
+                    case DOWN:
+                        panBy(0, TILE_SIZE);
+                        break;
+                    default:
+                        return;
+                }
+                event.consume();
+            }
+        });
+        redraw();
+    }
+
+    /**
+     * Moves the viewport
+     *
+     * @param dx horizontal distance in pixels
+     * @param dy vertical distance in pixels
+     */
+    private void panBy(double dx, double dy) {
+        originX += dx;
+        originY += dy;
+        redraw();
+    }
+
+    /**
+     * Redraws every cell in the viewport, generating any chunks it newly touches
+     */
+    private void redraw() {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        int firstCol = (int) Math.floor(originX / TILE_SIZE);
+        int firstRow = (int) Math.floor(originY / TILE_SIZE);
+        int lastCol = (int) Math.floor((originX + VIEWPORT_SIZE) / TILE_SIZE);
+        int lastRow = (int) Math.floor((originY + VIEWPORT_SIZE) / TILE_SIZE);
+        for (int row = firstRow; row <= lastRow; ++row) {
+            for (int col = firstCol; col <= lastCol; ++col) {
+                int tile = TileSet.tileFor(board.getState(row, col), isOver, false);
+                gc.drawImage(tiles[tile], col * TILE_SIZE - originX, row * TILE_SIZE - originY);
+            }
+        }
+    }
+
+    /**
+     * @return the endless board being displayed
+     */
+    public ChunkedBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Sets whether or not clicks on the view will have any effect
+     *
+     * @param isClickable true if setting the view to be clickable, false if not
+     */
+    public void setClickable(boolean isClickable) {
+        this.isClickable = isClickable;
+    }
+
+}
@@ -3,182 +3,119 @@ package view;
 import control.Controller;
 import javafx.event.EventHandler;
 import javafx.geometry.Insets;
+import javafx.scene.Node;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.RowConstraints;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Objects;
+import control.BoardDiff;
+import model.Board;
+import model.CellBatch;
 
 /**
  * Kvarfordt-Tanner-Assn8
  * Created on 11/19/2016
  *
  * This extension of GridPane serves as the game board for the Minesweeperish project.
- * It contains a grid of GameNodes for display, is in charge of the game board dimensions (given in number of GameNodes
- * in the x and y directions), is in charge of the percentage of GameNodes which are to be bombs (and subsequently how
- * many bombs are in the GameBoard), and is in charge of telling GameNodes how many bombs they neighbor.
+ * It contains a grid of GameNodes for display, one Cell per cell of a model.Board. The state of every cell lives in
+ * the Board; the GameBoard only forwards clicks to the Controller and renders the Board's cells, from the copy of
+ * their states kept by its DirtyCells.
+ * The cells changed by moves are rendered together at the next pulse, see DirtyCells.
  *
  * @author Tanner Kvarfordt
  * @version 1.0
  */
 @SuppressWarnings({"WeakerAccess", "CanBeFinal"})
-public class GameBoard extends GridPane {
+public class GameBoard extends GridPane implements BoardView {
 
     /**
      * The overruling Controller for the GameBoard to allow interaction with other aspects of the game
      */
     private Controller controller;
 
-    /**
-     * Keeps track of how many GameNodes have been disabled for the current game
-     */
-    private int disabledGameNodes;
-
     /**
      * Determines whether or not clicks will have any effect on the GameBoard
      */
     private boolean isClickable;
 
     /**
-     * Number of columns for GameBoard
+     * True once the game has ended and bombs and marked cells are to be shown
      */
-    private int gridSizeX;
+    private boolean isOver;
 
     /**
-     * Number of rows for GameBoard
+     * True if the game ended in a win
      */
-    private int gridSizeY;
+    private boolean isWon;
 
     /**
-     * Percentage of the GameBoard that will contain bombs
+     * The headless model holding the state of every cell in the GameBoard
      */
-    private double percentBombs;
+    private Board board;
 
     /**
-     * Number of bombs the GameBoard will contain
+     * The Cells displaying the board, indexed the same way as the cells of the Board (row-major)
      */
-    private int numBombs;
+    private Cell[] cells;
 
     /**
-     * Counter for the user to know how many unmarked bombs are present in the GameBoard
+     * Cells changed by moves, waiting to be rendered at the next pulse
      */
-    private int possibleBombs;
+    private DirtyCells dirtyCells;
 
     /**
-     * A virtual grid to place the all GameNodes in their final locations
-     * The way this is set up, the outermost container corresponds to rows in the grid
-     * - that is, the outer ArrayList holds rows of GameNodes
+     * Index of the Cell outlined as the guess suggested by a hint, or -1
      */
-    private ArrayList<ArrayList<Cell>> virtualGrid;
+    private int guessCell;
 
     /**
-     * ArrayList containing all bombs nodes for the game
-     */
-    private ArrayList<Cell> bombsAndMarkedCells;
-
-
-    /**
-     * Creates a new GameBoard - initializes all member variables
-     * Sets the stylesheet for the class
-     * Defaults:
-     * gridSizeX = 20
-     * gridSizeY = 20
-     * 25% bombs
+     * Creates a new GameBoard displaying a Board - initializes all member variables
+     *
+     * @param controller the overruling Controller for the GameBoard
+     * @param board      the headless model to be displayed
      */
-    public GameBoard(Controller controller) {
+    public GameBoard(Controller controller, Board board) {
         this.controller = controller;
-        disabledGameNodes = 0;
+        this.board = board;
         isClickable = false;
+        isOver = false;
+        isWon = false;
+        guessCell = -1;
 
-        // Set default grid sizes
-        gridSizeX = 20;
-        gridSizeY = 20;
-
-        // Compute number of bombs
-        percentBombs = 0.14; //TODO Assignment default is 0.25
-        Double tempBombs = gridSizeX * gridSizeY * percentBombs;
-        numBombs = tempBombs.intValue();
-        possibleBombs = numBombs;
-        bombsAndMarkedCells = new ArrayList<>(numBombs);
+        int gridSizeX = board.getWidth();
+        int gridSizeY = board.getHeight();
 
         // Set GameBoard constraints
         setGameBoardConstraints(gridSizeX, gridSizeY);
+        setChordHandler();
 
-        // Create initial ArrayList to contain all GameNodes needed
-        ArrayList<Cell> initContainer = new ArrayList<>(gridSizeX * gridSizeY);
-
-        // Create however many GameNodes needed to be bombs
-        for (int i = 0; i < numBombs; ++i) {
-            Cell g = new Cell(true);
-            initContainer.add(g);
-            g.setId("bomb-button");
-            setGameNodeHandler(g);
-            bombsAndMarkedCells.add(g);
-        }
-
-        // Set the remaining GameNodes to not have bombs
-        for (int i = numBombs; i < (gridSizeX * gridSizeY); ++i) {
-            Cell g = new Cell(false);
-            initContainer.add(g);
-            setGameNodeHandler(g);
-        }
+        dirtyCells = new DirtyCells(board) {
+            @Override
+            protected void apply(CellBatch batch, int from, int to) {
+                for (int i = from; i < to; ++i) {
+                    renderCell(batch.get(i));
+                }
+            }
+        };
 
-        // Shuffle the initial container so bomb locations are randomized
-        Collections.shuffle(initContainer);
-
-        /* Create a virtual grid to place the GameNodes in their final locations
-        *  The way this is set up, the outermost container corresponds to rows in the grid
-        *  - that is, the outer ArrayList holds rows of GameNodes
-        *  MakeRows takes the initial 1-D container and then
-        *       1) Breaks it into its proper rows based on gridSizeX and gridSizeY
-        *       2) Essentially creates the grid by inserting those rows into a 2-D ArrayList
-        *          where the outermost ArrayList corresponds to the rows and the innermost
-        *          ArrayList to the columns.
-        */
-        virtualGrid = makeRows(initContainer);
-
-        // Tell each Cell its location, and update each Cell's neighboringBomb count
+        // Create a Cell to display each cell of the Board
+        cells = new Cell[board.getNumCells()];
         for (int i = 0; i < gridSizeY; ++i) {
             for (int j = 0; j < gridSizeX; ++j) {
-                virtualGrid.get(i).get(j).setGridCoords(i, j);
-                if (virtualGrid.get(i).get(j).isBomb()) {
-                    updateNeighbors(i, j);
-                }
-                this.add(virtualGrid.get(i).get(j), j, i);
+                Cell g = new Cell(i, j);
+                cells[board.indexOf(i, j)] = g;
+                setGameNodeHandler(g);
+                renderCell(board.indexOf(i, j));
+                this.add(g, j, i);
 
                 //fix issue where there is space between nodes even with hgap and vgap set to 0
-                setMargin(virtualGrid.get(i).get(j), new Insets(-1));
+                setMargin(g, new Insets(-1));
             }
         }
 
     }
 
-    /**
-     * Does two things:
-     * 1) Breaks initContainer into its proper rows based on gridSizeX and gridSizeY
-     * 2) Essentially creates the grid by inserting those rows into a 2-D ArrayList
-     * where the outermost ArrayList corresponds to the rows and the innermost
-     * ArrayList to the columns.
-     *
-     * @param initContainer the initial container which holds however many GameNodes the GameBoard will need, but
-     *                      not in any order and not in the proper grid format
-     * @return a 2-D ArrayList as a grid containing all GameNodes in the proper format
-     */
-    private ArrayList<ArrayList<Cell>> makeRows(ArrayList<Cell> initContainer) {
-        ArrayList<ArrayList<Cell>> rows = new ArrayList<>(gridSizeY);
-        int j = 0;
-        for (int i = 0; i < gridSizeY; ++i, j += gridSizeX) {
-            // .subList(int fromIndex, int toIndex) fromIndex is inclusive, toIndex is exclusive
-            ArrayList<Cell> aRow = new ArrayList<>(initContainer.subList(j, j + gridSizeX));
-            rows.add(aRow);
-        }
-        return rows;
-    }
-
     /**
      * Sets the number of mineGrid cols and rows
      *
@@ -201,89 +138,41 @@ public class GameBoard extends GridPane {
     }
 
     /**
-     * @return number of columns for the GameBoard
+     * @return the headless model holding the state of the GameBoard
      */
-    @SuppressWarnings("unused")
-    public int getGridSizeX() {
-        return gridSizeX;
+    @Override
+    public Board getBoard() {
+        return board;
     }
 
     /**
-     * @return number of rows for the GameBoard
+     * @return this GameBoard
      */
-    @SuppressWarnings("unused")
-    public int getGridSizeY() {
-        return gridSizeY;
+    @Override
+    public Node getNode() {
+        return this;
     }
 
     /**
-     * Increments a Cell's count of how many bombs it is touching
-     *
-     * @param row row index of the Cell whose neighboringBombs count is to be updated
-     * @param col column index of the Cell whose neighboringBombs count is to be updated
-     */
-    private void incBombsTouching(int row, int col) {
-        if (!accessIsInBounds(row, col)) {
-            throw new ArrayIndexOutOfBoundsException();
-        } else {
-            virtualGrid.get(row).get(col).incNeighboringBombs();
-        }
-    }
-
-    /**
-     * This method is to be called when a Cell contains a bomb.
-     * It tells that Cell's neighbors that it contains a bomb
-     * - that is, it increments the bomb's neighbors' counts of how many bombs each is touching.
-     *
-     * @param row row index of the Cell containing a bomb
-     * @param col column index of the Cell containing a bomb
+     * @return number of columns for the GameBoard
      */
-    private void updateNeighbors(int row, int col) {
-        try {
-            incBombsTouching(row, col + 1);
-        } catch (Exception e) { /*do nothing; the exception is handled*/ }
-
-        try {
-            incBombsTouching(row, col - 1);
-        } catch (Exception e) { /*do nothing; the exception is handled*/ }
-
-        try {
-            incBombsTouching(row + 1, col);
-        } catch (Exception e) { /*do nothing; the exception is handled*/ }
-
-        try {
-            incBombsTouching(row - 1, col);
-        } catch (Exception e) { /*do nothing; the exception is handled*/ }
-
-        try {
-            incBombsTouching(row - 1, col - 1);
-        } catch (Exception e) { /*do nothing; the exception is handled*/ }
-
-        try {
-            incBombsTouching(row + 1, col - 1);
-        } catch (Exception e) { /*do nothing; the exception is handled*/ }
-
-        try {
-            incBombsTouching(row - 1, col + 1);
-        } catch (Exception e) { /*do nothing; the exception is handled*/ }
-
-        try {
-            incBombsTouching(row + 1, col + 1);
-        } catch (Exception e) { /*do nothing; the exception is handled*/ }
+    @SuppressWarnings("unused")
+    public int getGridSizeX() {
+        return board.getWidth();
     }
 
     /**
-     * @return the percentage the GameBoard that contains bombs
+     * @return number of rows for the GameBoard
      */
     @SuppressWarnings("unused")
-    public double getPercentBombs() {
-        return percentBombs;
+    public int getGridSizeY() {
+        return board.getHeight();
     }
 
     /**
      * @return whether or not the GameBoard is clickable
      */
-    @SuppressWarnings({"unused"})
+    @Override
     public boolean isClickable() {
         return isClickable;
     }
@@ -293,7 +182,7 @@ public class GameBoard extends GridPane {
      */
     @SuppressWarnings("unused")
     public int getNumBombs() {
-        return numBombs;
+        return board.getNumMines();
     }
 
     /**
@@ -301,7 +190,7 @@ public class GameBoard extends GridPane {
      */
     @SuppressWarnings("unused")
     public int getPossibleBombs() {
-        return possibleBombs;
+        return board.getPossibleMines();
     }
 
     /**
@@ -311,67 +200,37 @@ public class GameBoard extends GridPane {
      */
     @SuppressWarnings("Convert2Lambda")
     private void setGameNodeHandler(Cell g) {
-
-        if (g.isBomb()) { //the Cell clicked on is a bomb
-            g.setOnMousePressed(new EventHandler<MouseEvent>() {
-                @Override
-                public void handle(MouseEvent event) {
-                    if (isClickable) {
-                        if (event.getButton() == MouseButton.SECONDARY) {
-                            g.setId("marked-bomb-button");
-                            markNode(g);
-                        } else if (!Objects.equals(g.getText(), "X") && !Objects.equals(g.getText(), "?")) {
-                            if (!Objects.equals(g.getText(), "X") && !Objects.equals(g.getText(), "?")) {
-                                //This Cell is a bomb
-                                g.setDisable(true);
-                                controller.endGame(false);
-                            }
-                        }
+        g.setOnMousePressed(new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                // A chord is left to bubble up to the GameBoard, which also hears chords on revealed Cells
+                if (isClickable && !BoardView.isChord(event)) {
+                    int index = board.indexOf(g.getRow(), g.getCol());
+                    if (event.getButton() == MouseButton.SECONDARY) {
+                        controller.markCell(index);
+                    } else if (event.getButton() == MouseButton.PRIMARY) {
+                        controller.openCell(index);
                     }
                 }
-            });
-        } else { //the Cell clicked on is not a bomb
-            g.setOnMousePressed(new EventHandler<MouseEvent>() {
-                @Override
-                public void handle(MouseEvent event) {
-                    if (isClickable) {
-                        if (event.getButton() == MouseButton.SECONDARY) {
-                            g.setId("marked-safe-button");
-                            bombsAndMarkedCells.add(g);
-                            markNode(g);
-                        } else if (!Objects.equals(g.getText(), "X") && !Objects.equals(g.getText(), "?")) {
-                            //This Cell is guaranteed to not be a bomb
-                            openNeighbors(((Cell) event.getSource()).getRow(), ((Cell) event.getSource()).getCol());
-                            if (controller.checkForWin()) {
-                                controller.endGame(true);
-                            }
-                        }
-                    }
-                }
-            });
-        }
+            }
+        });
     }
 
     /**
-     * Cycles through the series of markings on Cell when right clicked
-     *
-     * @param g the Cell to be marked or unmarked
+     * Chords the number under a middle click or a click with both buttons. Revealed Cells are disabled and so are
+     * never the target of a click, so the cell is found from where the GameBoard was clicked.
      */
-    private void markNode(Cell g) {
-        if (g.getText() == null) {
-            g.setText("X");
-            --possibleBombs;
-            controller.updatePossibleBombs(possibleBombs);
-        } else if (Objects.equals(g.getText(), "X")) {
-            g.setText("?");
-            ++possibleBombs;
-            controller.updatePossibleBombs(possibleBombs);
-        } else {
-            if (Objects.equals(g.getId(), "marked-safe-button")) bombsAndMarkedCells.remove(g);
-            g.setId(null);
-            if (g.isBomb()) g.setId("bomb-button");
-            g.setText(null);
-        }
+    @SuppressWarnings("Convert2Lambda")
+    private void setChordHandler() {
+        addEventHandler(MouseEvent.MOUSE_PRESSED, new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                if (!isClickable || !BoardView.isChord(event) || getWidth() <= 0 || getHeight() <= 0) return;
+                int col = (int) Math.floor(event.getX() * board.getWidth() / getWidth());
+                int row = (int) Math.floor(event.getY() * board.getHeight() / getHeight());
+                if (board.isInBounds(row, col)) controller.chordCell(board.indexOf(row, col));
+            }
+        });
     }
 
     /**
@@ -379,80 +238,122 @@ public class GameBoard extends GridPane {
      *
      * @param isClickable true if setting the GameBoard to be clickable, false if not
      */
+    @Override
     public void setClickable(boolean isClickable) {
         this.isClickable = isClickable;
     }
 
     /**
-     * If a Cell clicked is touching zero bombs, this method recursively opens neighboring GameNodes until
-     * it reaches a Cell that is touching a bomb (in each direction)
+     * Sets the most time to spend drawing changed cells in a frame
      *
-     * @param row row of the Cell to potentially be opened
-     * @param col column of the Cell to potentially be opened
+     * @param nanos the time in nanoseconds, or 0 to draw every changed cell in the next frame
      */
-    private void openNeighbors(int row, int col) {
-        if (accessIsInBounds(row, col)) {
-            Cell g = virtualGrid.get(row).get(col);
-            if (!g.isBomb() && !g.isDisable() && g.getText() == null) {
-                g.setDisable(true);
-                ++disabledGameNodes;
-                g.setText(Integer.toString(g.getNeighboringBombs()));
-                if (!controller.checkForWin()) {
-
-                    if (g.getNeighboringBombs() == 0) {
-                        openNeighbors(row, col + 1);
-                        openNeighbors(row, col - 1);
-                        openNeighbors(row + 1, col);
-                        openNeighbors(row - 1, col);
-                        openNeighbors(row - 1, col - 1);
-                        openNeighbors(row + 1, col - 1);
-                        openNeighbors(row - 1, col + 1);
-                        openNeighbors(row + 1, col + 1);
-                    }
-                }
-            }
-        }
+    @Override
+    public void setFrameBudget(long nanos) {
+        dirtyCells.setFrameBudget(nanos);
+    }
+
+    /**
+     * Renders the Cells changed by a batch of moves at the next pulse, along with any other moves made before it,
+     * or re-skins every Cell if the diff is of the whole board, and clears the outline of the last guess
+     *
+     * @param diff the result of the moves
+     */
+    @Override
+    public void renderDiff(BoardDiff diff) {
+        clearGuess();
+        dirtyCells.addAll(diff);
+        if (diff.isWholeBoard()) renderCells();
     }
 
     /**
-     * Determines whether an access to a point in the GameBoard grid is legal
+     * Updates the text, pseudo-classes and disabled state of a Cell to match its state, including the end of game
+     * display
      *
-     * @param row row of Cell to be accessed
-     * @param col column of Cell to be accessed
-     * @return whether or not the access is in bounds of the virtualGrid array
+     * @param index index of the Cell to be drawn
      */
-    private boolean accessIsInBounds(int row, int col) {
-        return (row >= 0 && row < gridSizeY && col >= 0 && col < gridSizeX);
+    @Override
+    public void renderCell(int index) {
+        int state = dirtyCells.getState(index);
+        cells[index].render(state);
+        if (isOver) cells[index].renderGameOver(state, isWon);
     }
 
     /**
      * @return how many GameNodes have been disabled for the current game
      */
     public int getDisabledGameNodes() {
-        return disabledGameNodes;
+        return board.getRevealedCells();
+    }
+
+    /**
+     * Copies every cell's state from the Board and re-skins every Cell to match it
+     */
+    @Override
+    public void renderAll() {
+        dirtyCells.copyBoard();
+        renderCells();
+    }
+
+    /**
+     * Re-skins every Cell to match its state, including the cells still waiting to be rendered
+     */
+    private void renderCells() {
+        dirtyCells.flush();
+        for (int i = 0; i < cells.length; ++i) {
+            renderCell(i);
+        }
+    }
+
+    /**
+     * Re-skins every Cell to match its state in the Board and clears the end of game display, reusing the Cells,
+     * their handlers and the grid's constraints for the new game
+     */
+    @Override
+    public void reset() {
+        clearGuess();
+        isOver = false;
+        isWon = false;
+        renderAll();
+    }
+
+    /**
+     * Outlines the Cell a hint suggests guessing, until the next diff is rendered or the game ends
+     *
+     * @param index index of the Cell
+     */
+    @Override
+    public void showGuess(int index) {
+        clearGuess();
+        guessCell = index;
+        cells[index].setGuess(true);
+    }
+
+    /**
+     * Clears the outline of the guess suggested by a hint, if there is one
+     */
+    private void clearGuess() {
+        if (guessCell >= 0) cells[guessCell].setGuess(false);
+        guessCell = -1;
     }
 
     /**
      * Disables all bombs and marked Cells - to be called at the end of the game
      */
+    @Override
     public void disableAllBombsAndMarkedCells() {
-        for (Cell c : bombsAndMarkedCells) {
-            if (c.isBomb() && c.getText() == null) c.setText("B");
-            if (c.getId() != null) c.setDisable(true);
-        }
+        clearGuess();
+        isOver = true;
+        renderCells();
     }
 
     /**
      * Marks all unmarked bombs in the GameBoard - to be called if the user has won
      */
+    @Override
     public void markBombsOnWin() {
-        //noinspection Convert2streamapi
-        for (Cell c : bombsAndMarkedCells) {
-            if (c.isBomb()) {
-                c.setId("marked-bomb-button");
-                c.setText("X");
-            }
-        }
+        isWon = true;
+        renderCells();
     }
 
 }
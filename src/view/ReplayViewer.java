@@ -0,0 +1,154 @@
+package view;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import model.Replay;
+import model.ReplayFile;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Plays back the games in a move log. The slider seeks to any move of the game being shown, and the arrow buttons
+ * step between the games in the file. Boards are drawn with a CanvasBoard which ignores clicks.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings({"WeakerAccess", "CanBeFinal"})
+public class ReplayViewer extends BorderPane {
+
+    /**
+     * The move log being played back
+     */
+    private ReplayFile file;
+
+    /**
+     * The game being shown
+     */
+    private Replay replay;
+
+    /**
+     * Number of the game being shown
+     */
+    private int game;
+
+    /**
+     * View of the board of the game being shown
+     */
+    private CanvasBoard boardView;
+
+    /**
+     * Slider choosing the number of moves played
+     */
+    private Slider moveSlider;
+
+    /**
+     * Label showing which game is shown, out of how many
+     */
+    private Label gameLabel;
+
+    /**
+     * Label showing the move and the time it was played at
+     */
+    private Label moveLabel;
+
+    /**
+     * Button to show the previous game
+     */
+    private Button prevBtn;
+
+    /**
+     * Button to show the next game
+     */
+    private Button nextBtn;
+
+    /**
+     * Creates a ReplayViewer showing the last game in a move log
+     *
+     * @param file the move log to be played back, which must hold at least one game
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public ReplayViewer(ReplayFile file) {
+        this.file = file;
+        prevBtn = new Button("<");
+        nextBtn = new Button(">");
+        gameLabel = new Label();
+        moveLabel = new Label();
+        moveSlider = new Slider();
+        moveSlider.setPrefWidth(300);
+        prevBtn.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                showGame(game - 1);
+            }
+        });
+        nextBtn.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                showGame(game + 1);
+            }
+        });
+        moveSlider.valueProperty().addListener(new ChangeListener<Number>() {
+            @Override
+            public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+                seek((int) Math.round(newValue.doubleValue()));
+            }
+        });
+
+        HBox controls = new HBox(10, prevBtn, gameLabel, nextBtn, moveSlider, moveLabel);
+        controls.setAlignment(Pos.CENTER);
+        controls.setPadding(new Insets(10, 10, 10, 10));
+        setTop(controls);
+        showGame(file.getNumGames() - 1);
+    }
+
+    /**
+     * Shows a game from the file, after its last move
+     *
+     * @param game number of the game to be shown
+     */
+    private void showGame(int game) {
+        this.game = game;
+        replay = file.getGame(game);
+        boardView = new CanvasBoard(null, replay.getBoard());
+        setCenter(boardView);
+        gameLabel.setText("Game " + Integer.toString(game + 1) + " of " + Integer.toString(file.getNumGames()));
+        prevBtn.setDisable(game == 0);
+        nextBtn.setDisable(game == file.getNumGames() - 1);
+        moveSlider.setMax(replay.getNumMoves());
+        moveSlider.setValue(replay.getNumMoves());
+        updateMoveLabel();
+    }
+
+    /**
+     * Shows the board of the current game as it was after a number of moves
+     *
+     * @param move number of moves played
+     */
+    private void seek(int move) {
+        if (move == replay.getCurrentMove()) return;
+        replay.seek(move);
+        boardView.renderAll();
+        updateMoveLabel();
+    }
+
+    /**
+     * Updates moveLabel to match the current move
+     */
+    private void updateMoveLabel() {
+        moveLabel.setText("Move " + Integer.toString(replay.getCurrentMove()) + " of "
+                + Integer.toString(replay.getNumMoves()) + " at "
+                + String.format("%.3f", replay.getElapsedMillis() / 1000.0) + " s");
+    }
+
+}
@@ -1,7 +1,10 @@
 package view;
 
 import control.Controller;
-import javafx.application.Platform;
+import control.GameSession;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Insets;
@@ -10,16 +13,21 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import model.GameClock;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.Callable;
 
 /**
  * Kvarfordt-Tanner-Assn8
  * Created on 11/19/2016
  *
  * This class is the score board for the game minesweeperish.
- * It also contains the start button to start a new game.
+ * It also contains the start button to start a new game, and the hint button which plays a move the solver has
+ * proven safe while a game is running; when nothing can be proven, a label says how likely the cell the hint
+ * outlined instead is to be a bomb. While the next board is being generated in the background, the start button
+ * is disabled and a label says so.
+ * Everything it shows is bound once, when it is created, to the properties of the Controller's GameSession, so
+ * flagging a cell or the clock ticking only changes the text of one Label.
  *
  * @author Tanner Kvarfordt
  * @version 1.0
@@ -30,25 +38,17 @@ public class ScoreBoard extends HBox {
     /**
      * The overruling Controller for the ScoreBoard to allow interaction with other aspects of the game
      */
-    @SuppressWarnings({"FieldCanBeLocal", "unused"})
     private Controller controller;
 
-    private Timer timer;
-
-    /**
-     * Time in seconds since the start button was pressed
-     */
-    private int time;
-
     /**
-     * Counter of how many bombs the user thinks are still left in the minefield.
+     * Button to start the next round
      */
-    private int bombsLeft;
+    private Button startBtn;
 
     /**
-     * Button to start the next round
+     * Button to play a move the solver has proven safe
      */
-    private Button startBtn;
+    private Button hintBtn;
 
     /**
      * Label corresponding to the amount of time in seconds since the start button has been pressed
@@ -61,29 +61,63 @@ public class ScoreBoard extends HBox {
     private Label bombsLeftLabel;
 
     /**
-     * True if the Timer is stopped, false if not
+     * Label showing the seed of the current board, so the game can be regenerated exactly
+     */
+    private Label seedLabel;
+
+    /**
+     * Label showing how likely the cell suggested by the last hint is to be a bomb, shown only while there is one
+     */
+    private Label guessLabel;
+
+    /**
+     * Label shown while the next board is being generated
      */
-    private boolean timerIsStopped;
+    private Label generatingLabel;
 
     /**
-     * ScoreBoard constructor - initializes all member variables and adds them to the pane (this)
+     * True while the next board is being generated in the background
      */
-    public ScoreBoard(int bombsLeft, Controller controller) {
-        timer = new Timer(true);
-        timerIsStopped = false;
+    private BooleanProperty generating;
+
+    /**
+     * ScoreBoard constructor - initializes all member variables, adds them to the pane (this) and binds them to the
+     * Controller's GameSession
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public ScoreBoard(Controller controller) {
+        final GameSession session = controller.getSession();
         this.controller = controller;
         this.setAlignment(Pos.CENTER);
         this.setSpacing(50);
         this.setPadding(new Insets(10, 0, 10, 0));
-        this.bombsLeft = bombsLeft;
         startBtn = new Button("Start");
-        time = 0;
-
+        hintBtn = new Button("Hint");
+        generating = new SimpleBooleanProperty(this, "generating");
+        // The start button is only enabled between games once the next board is ready, and the hint button only
+        // during games
+        startBtn.disableProperty().bind(session.runningProperty().or(generating));
+        hintBtn.disableProperty().bind(session.runningProperty().not());
+        hintBtn.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                ScoreBoard.this.controller.showHint();
+            }
+        });
         /*
       Timer to keep track of how long the current game has gone on
      */
         Label timerTop = new Label("Time");
-        timerBottom = new Label("0");
+        timerBottom = new Label();
+        // Tenths of a second while the clock runs, and the exact time once it has stopped
+        timerBottom.textProperty().bind(Bindings.createStringBinding(new Callable<String>() {
+            @Override
+            public String call() {
+                long millis = session.timeProperty().get();
+                if (!session.runningProperty().get()) return GameClock.format(millis);
+                return Long.toString(millis / 1000) + "." + Long.toString(millis / 100 % 10);
+            }
+        }, session.timeProperty(), session.runningProperty()));
 
         /*
       VBox to hold Labels informing the user about how many seconds have passed since the game began
@@ -95,20 +129,51 @@ public class ScoreBoard extends HBox {
       VBox to hold Labels reminding the user how many bombs they think remain
      */
         VBox bombsLeftBox = new VBox();
-        bombsLeftLabel = new Label(Integer.toString(bombsLeft));
+        bombsLeftLabel = new Label();
+        bombsLeftLabel.textProperty().bind(session.minesLeftProperty().asString());
         bombsLeftBox.getChildren().addAll(new Label("Bombs Left"), bombsLeftLabel);
 
+        /*
+      VBox to hold Labels showing the seed the board was generated from
+     */
+        VBox seedBox = new VBox();
+        seedLabel = new Label();
+        seedLabel.textProperty().bind(session.seedProperty().asString());
+        seedBox.getChildren().addAll(new Label("Seed"), seedLabel);
+
         timerBox.setAlignment(Pos.CENTER);
         bombsLeftBox.setAlignment(Pos.CENTER);
+        seedBox.setAlignment(Pos.CENTER);
+
+        guessLabel = new Label();
+        guessLabel.textProperty().bind(Bindings.createStringBinding(new Callable<String>() {
+            @Override
+            public String call() {
+                double probability = session.guessProbabilityProperty().get();
+                if (Double.isNaN(probability)) return "";
+                return "No safe cell: outlined guess is a bomb with probability "
+                        + (session.guessExactProperty().get() ? "" : "about ")
+                        + String.format("%.1f%%", 100 * probability);
+            }
+        }, session.guessProbabilityProperty(), session.guessExactProperty()));
+        guessLabel.visibleProperty().bind(guessLabel.textProperty().isNotEmpty());
+        guessLabel.managedProperty().bind(guessLabel.visibleProperty());
 
-        this.getChildren().addAll(bombsLeftBox, startBtn, timerBox);
+        generatingLabel = new Label("Generating board...");
+        generatingLabel.visibleProperty().bind(generating);
+        generatingLabel.managedProperty().bind(generating);
+
+        this.getChildren().addAll(bombsLeftBox, startBtn, hintBtn, guessLabel, generatingLabel, timerBox, seedBox);
     }
 
     /**
-     * @return the time in seconds since the start button was pressed
+     * Sets whether the next board is being generated in the background, disabling the start button and showing
+     * generatingLabel while it is
+     *
+     * @param isGenerating true while the next board is being generated
      */
-    public int getTime() {
-        return time;
+    public void setGenerating(boolean isGenerating) {
+        generating.set(isGenerating);
     }
 
     /**
@@ -121,60 +186,13 @@ public class ScoreBoard extends HBox {
     }
 
     /**
-     * Update the bombsLeft counter
+     * Shows or hides hintBtn, for games the solver cannot play
      *
-     * @param bombsLeft the number of bombs the user thinks are still left
-     */
-    public void updateBombsLeft(int bombsLeft) {
-        this.bombsLeft = bombsLeft;
-        bombsLeftLabel.setText(Integer.toString(this.bombsLeft));
-    }
-
-    /**
-     * Update the game timer every second
-     */
-    private void updateTimer() {
-        ++time;
-        timerBottom.setText(Integer.toString(time));
-    }
-
-    /**
-     * Starts the game timer
+     * @param isVisible true to show hintBtn, false to hide it
      */
-    public void startTimer() {
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                Platform.runLater(ScoreBoard.this::updateTimer);
-            }
-        }, 0, 1000);
-    }
-
-    /**
-     * Stops the game timer
-     */
-    public void stopTimer() {
-        timer.cancel();
-        timerIsStopped = true;
-    }
-
-    /**
-     * @return whether or not the Timer is stopped
-     */
-    public boolean timerIsStopped() {
-        return timerIsStopped;
-    }
-
-    /**
-     * Enables or disables startBtn
-     *
-     * @param isDisable true to disable startBtn, false to enable startBtn
-     */
-    @SuppressWarnings("SameParameterValue")
-    public void setStartBtnDisable(boolean isDisable) {
-        startBtn.setDisable(isDisable);
+    public void setHintBtnVisible(boolean isVisible) {
+        hintBtn.setVisible(isVisible);
+        hintBtn.setManaged(isVisible);
     }
 
 }
-
-
@@ -2,24 +2,82 @@ package view;
 
 import control.Controller;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
+import model.Board;
+import model.BoardGenerator;
+import model.ChunkedBoard;
+import model.MoveLog;
+import model.NoGuessGenerator;
+import model.GameState;
+import model.Leaderboard;
+import model.ReplayFile;
+import model.SaveFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Kvarfordt-Tanner-Assn8
  * Created on 11/21/2016
  *
  * Contains the start method for the Minesweeperish program.
+ * The board can be configured with named parameters, e.g. --width=500 --height=500 --percentBombs=0.14
+ * --renderer=canvas. The renderer is "buttons" (one Cell per cell, the default), "virtual" (Cells for the cells in the
+ * window only, panned and zoomed with the scroll wheel) or "canvas". Boards of more than MAX_GRID_CELLS cells are
+ * shown with "virtual" rather than "buttons". The window can be resized.
+ * Passing --seed=n makes every board use the mine layout generated from that seed, as shown in the ScoreBoard.
+ * Passing --mode=endless plays on an endless board instead, with percentBombs as its density.
+ * Passing --noGuess=true generates boards which can be won without guessing, spending at most --noGuessBudget
+ * milliseconds (default 1000) searching for each on a background thread; the first cell of such a board is opened
+ * when it is created.
+ * Every move is recorded to the move log given by --log (default ~/.minesweeperish/games.mlog, "none" to disable),
+ * and passing --replay=path plays back the games in a move log instead of starting a game.
+ * The game being played is saved after every move and when the program closes, to the file given by --save (default
+ * ~/.minesweeperish/save.bin, "none" to disable), and resumed when the program next starts.
+ * Won games are ranked in the leaderboard given by --leaderboard (default ~/.minesweeperish/leaderboard.bin, "none"
+ * to disable), per board configuration.
+ * The cells of a large reveal are drawn over several frames, spreading out from the cell clicked, spending at most
+ * --frameBudget milliseconds (default 8, 0 to draw them all in one frame) drawing them in each frame.
+ * Passing --measureLayout=true prints how long CSS and layout take each time a board is shown.
  *
  * @author Tanner Kvarfordt
  * @version 1.0
  */
 public class Start extends Application {
 
+    /**
+     * Number of best times kept per board configuration
+     */
+    private static final int LEADERBOARD_SIZE = 100;
+
+    /**
+     * Number of chunks of an endless board kept in memory
+     */
+    private static final int ENDLESS_LIVE_CHUNKS = 1024;
+
+    /**
+     * Stylesheet of the Cells of a GameBoard, loaded once for the scene
+     */
+    private static final String STYLESHEET = "view/GameNodeStyles.css";
+
+    /**
+     * Most cells a board shown with the "buttons" renderer may have; larger boards are shown with "virtual"
+     */
+    private static final int MAX_GRID_CELLS = 64 * 64;
+
     /**
      * The overruling Controller for the game
      */
@@ -28,7 +86,7 @@ public class Start extends Application {
     /**
      * GameBoard for Minesweeperish
      */
-    private GameBoard gameBoard;
+    private BoardView gameBoard;
 
     /**
      * ScoreBoard for Minesweeperish
@@ -41,6 +99,66 @@ public class Start extends Application {
      */
     private BorderPane mainPane;
 
+    /**
+     * Number of columns for each new board
+     */
+    private int gridSizeX;
+
+    /**
+     * Number of rows for each new board
+     */
+    private int gridSizeY;
+
+    /**
+     * Percentage of each new board that will contain bombs
+     */
+    private double percentBombs;
+
+    /**
+     * Which BoardView to display boards with - "buttons" or "canvas"
+     */
+    private String renderer;
+
+    /**
+     * Seed for every new board, or null to pick a new random seed for each board
+     */
+    private Long seed;
+
+    /**
+     * Source of seeds when no seed is given
+     */
+    private Random seedSource;
+
+    /**
+     * True if each new board is to be one which can be won without guessing
+     */
+    private boolean noGuess;
+
+    /**
+     * Most time to spend searching for each no-guess board, in milliseconds
+     */
+    private long noGuessBudget;
+
+    /**
+     * Log the moves of every game are recorded to, or null
+     */
+    private MoveLog moveLog;
+
+    /**
+     * File the game being played is saved to, or null
+     */
+    private SaveFile saveFile;
+
+    /**
+     * Most time to spend drawing changed cells in a frame, in nanoseconds, or 0 to draw them all in one frame
+     */
+    private long frameBudget;
+
+    /**
+     * True if the time CSS and layout take is to be printed each time a board is shown
+     */
+    private boolean measureLayout;
+
     /**
      * Empty constructor
      */
@@ -56,39 +174,114 @@ public class Start extends Application {
     @SuppressWarnings("Convert2Lambda")
     @Override
     public void start(Stage primaryStage) throws Exception {
+        Map<String, String> parameters = getParameters().getNamed();
+        gridSizeX = Integer.parseInt(parameters.getOrDefault("width", "20"));
+        gridSizeY = Integer.parseInt(parameters.getOrDefault("height", "20"));
+        //TODO Assignment default is 0.25
+        percentBombs = Double.parseDouble(parameters.getOrDefault("percentBombs", "0.14"));
+        renderer = parameters.getOrDefault("renderer", "buttons");
+        seed = parameters.containsKey("seed") ? Long.parseLong(parameters.get("seed")) : null;
+        seedSource = new Random();
+        noGuess = Boolean.parseBoolean(parameters.getOrDefault("noGuess", "false"));
+        noGuessBudget = Long.parseLong(parameters.getOrDefault("noGuessBudget", "1000"));
+        boolean endless = "endless".equals(parameters.get("mode"));
+        frameBudget = (long) (Double.parseDouble(parameters.getOrDefault("frameBudget", "8")) * 1000000L);
+        measureLayout = Boolean.parseBoolean(parameters.getOrDefault("measureLayout", "false"));
+
+        if (parameters.containsKey("replay")) {
+            ReplayFile replayFile = new ReplayFile(Paths.get(parameters.get("replay")));
+            if (replayFile.getNumGames() == 0) throw new IOException("No games in " + parameters.get("replay"));
+            primaryStage.setScene(new Scene(new ReplayViewer(replayFile)));
+            primaryStage.setTitle("Minesweeperish Replay");
+            primaryStage.show();
+            return;
+        }
+
         controller = new Controller();
         controller.setStart(this);
+        String log = parameters.getOrDefault("log",
+                Paths.get(System.getProperty("user.home"), ".minesweeperish", "games.mlog").toString());
+        if (!"none".equals(log)) {
+            moveLog = new MoveLog(Paths.get(log));
+            controller.setMoveLog(moveLog);
+        }
+        String save = parameters.getOrDefault("save",
+                Paths.get(System.getProperty("user.home"), ".minesweeperish", "save.bin").toString());
+        if (!"none".equals(save)) {
+            saveFile = new SaveFile(Paths.get(save));
+            controller.setSaveFile(saveFile);
+        }
+        String scores = parameters.getOrDefault("leaderboard",
+                Paths.get(System.getProperty("user.home"), ".minesweeperish", "leaderboard.bin").toString());
+        if (!"none".equals(scores)) {
+            // Read in the background, so a long history does not hold up the window
+            controller.setLeaderboard(CompletableFuture.supplyAsync(new Supplier<Leaderboard>() {
+                @Override
+                public Leaderboard get() {
+                    try {
+                        return new Leaderboard(Paths.get(scores), LEADERBOARD_SIZE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }), seed != null);
+        }
 
         mainPane = new BorderPane();
-
-        gameBoard = new GameBoard(controller);
-
-        scoreBoard = new ScoreBoard(gameBoard.getPossibleBombs(), controller);
+        scoreBoard = new ScoreBoard(controller);
         scoreBoard.setAlignment(Pos.CENTER);
-        scoreBoard.setStartBtnAction(new EventHandler<ActionEvent>() {
-            @Override
-            public void handle(ActionEvent event) {
-                gameBoard = new GameBoard(controller);
-                mainPane.setCenter(gameBoard);
-                gameBoard.setClickable(true);
-                scoreBoard.setStartBtnDisable(true);
-                scoreBoard.startTimer();
-                controller.setGameBoard(gameBoard);
-                controller.setScoreBoard(scoreBoard);
-            }
-        });
-
         mainPane.setTop(scoreBoard);
-        mainPane.setCenter(gameBoard);
 
-        controller.setGameBoard(gameBoard);
-        controller.setScoreBoard(scoreBoard);
+        if (endless) {
+            startEndlessGame();
+        } else {
+            Board savedBoard = loadSavedGame();
+            if (savedBoard != null) {
+                setGameBoard(createBoardView(savedBoard));
+                controller.setGameBoard(gameBoard);
+            } else {
+                prepareNextBoard(new Consumer<BoardView>() {
+                    @Override
+                    public void accept(BoardView view) {
+                        setGameBoard(view);
+                        controller.setGameBoard(view);
+                    }
+                });
+            }
+            scoreBoard.setStartBtnAction(new EventHandler<ActionEvent>() {
+                @Override
+                public void handle(ActionEvent event) {
+                    prepareNextBoard(new Consumer<BoardView>() {
+                        @Override
+                        public void accept(BoardView view) {
+                            setGameBoard(view);
+                            view.setClickable(true);
+                            controller.setGameBoard(view);
+                            controller.getSession().startClock();
+                        }
+                    });
+                }
+            });
+            if (savedBoard != null) {
+                // Carry on with the saved game straight away, as if its start button had just been pressed.
+                // Its earlier moves were not logged, so it cannot be replayed and is left out of the move log.
+                if (moveLog != null) moveLog.endGame();
+                gameBoard.setClickable(true);
+                controller.getSession().setElapsedMillis(saveFile.getElapsedMillis());
+                controller.getSession().startClock();
+            }
+        }
 
         Scene scene1 = new Scene(mainPane);
+        scene1.getStylesheets().add(STYLESHEET);
         primaryStage.setScene(scene1);
         primaryStage.setTitle("Minesweeperish");
-        primaryStage.setResizable(false);
+        primaryStage.setResizable(true);
         primaryStage.show();
+        // A board still being searched for is reported by setGameBoard once it is shown
+        if (measureLayout && (endless || gameBoard != null)) {
+            reportLayoutTime(endless ? "Endless board" : describe(gameBoard.getBoard()));
+        }
     }
 
     /**
@@ -97,39 +290,212 @@ public class Start extends Application {
      */
     @Override
     public void stop() {
-        if (!scoreBoard.timerIsStopped()) scoreBoard.stopTimer();
+        if (controller != null) {
+            controller.saveGame();
+            controller.shutdown();
+        }
+        if (moveLog != null) {
+            try {
+                moveLog.flush();
+            } catch (IOException e) {
+                System.err.println("Could not write move log " + moveLog.getPath() + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * Sets GameBoard for the game
+     *
+     * @param gameBoard GameBoard for the game
+     */
+    public void setGameBoard(BoardView gameBoard) {
+        boolean isFirst = mainPane.getCenter() == null;
+        this.gameBoard = gameBoard;
+        mainPane.setCenter(gameBoard.getNode());
+        // The first board of a window shown while it was still being searched for is fitted into the window
+        if (isFirst && mainPane.getScene() != null && mainPane.getScene().getWindow() != null) {
+            mainPane.getScene().getWindow().sizeToScene();
+        }
+        if (measureLayout && mainPane.getScene() != null) reportLayoutTime(describe(gameBoard.getBoard()));
     }
 
     /**
-     * Sets ScoreBoard for the game
+     * Applies CSS to the scene and lays it out straight away, rather than at the next pulse, and prints how long
+     * each took - to be called when a board has just been shown, so the times are those of that board
      *
-     * @param scoreBoard ScoreBoard for the game
+     * @param board description of the board shown, e.g. "20x20 board"
+     */
+    private void reportLayoutTime(String board) {
+        long start = System.nanoTime();
+        mainPane.applyCss();
+        long css = System.nanoTime();
+        mainPane.layout();
+        long layout = System.nanoTime();
+        System.out.printf("%s (%s): CSS %.3f ms, layout %.3f ms%n", board, renderer, (css - start) / 1e6,
+                (layout - css) / 1e6);
+    }
+
+    /**
+     * @param board a Board
+     * @return a description of the board for reportLayoutTime, e.g. "20x20 board"
+     */
+    private static String describe(Board board) {
+        return board.getWidth() + "x" + board.getHeight() + " board";
+    }
+
+    /**
+     * Replaces the current game with a new endless game, waiting on the ScoreBoard's start button
      */
     @SuppressWarnings("Convert2Lambda")
-    public void setScoreBoard(ScoreBoard scoreBoard) {
-        this.scoreBoard = scoreBoard;
+    public void startEndlessGame() {
+        long boardSeed = (seed != null) ? seed : seedSource.nextLong();
+        EndlessBoardView endlessBoard = new EndlessBoardView(controller,
+                new ChunkedBoard(boardSeed, Math.max(percentBombs, ChunkedBoard.MIN_DENSITY), ENDLESS_LIVE_CHUNKS));
+        controller.getSession().setEndlessBoard(boardSeed);
+        scoreBoard.setHintBtnVisible(false);
         scoreBoard.setStartBtnAction(new EventHandler<ActionEvent>() {
             @Override
             public void handle(ActionEvent event) {
-                scoreBoard.startTimer();
-                gameBoard = new GameBoard(controller);
-                mainPane.setCenter(gameBoard);
-                gameBoard.setClickable(true);
-                scoreBoard.setStartBtnDisable(true);
-                controller.setGameBoard(gameBoard);
+                endlessBoard.setClickable(true);
+                endlessBoard.requestFocus();
+                controller.getSession().startClock();
             }
         });
-        mainPane.setTop(scoreBoard);
+        mainPane.setCenter(endlessBoard);
+        if (measureLayout && mainPane.getScene() != null) reportLayoutTime("Endless board");
     }
 
     /**
-     * Sets GameBoard for the game
+     * Loads the game saved when the program last closed
      *
-     * @param gameBoard GameBoard for the game
+     * @return the board of the saved game, or null if there is none to carry on with
      */
-    public void setGameBoard(GameBoard gameBoard) {
-        this.gameBoard = gameBoard;
-        mainPane.setCenter(gameBoard);
+    private Board loadSavedGame() {
+        if (saveFile == null) return null;
+        try {
+            Board board = saveFile.load();
+            if (board != null && board.getGameState() == GameState.IN_PROGRESS) return board;
+        } catch (IOException e) {
+            System.err.println("Could not load saved game " + saveFile.getPath() + ": " + e);
+        }
+        return null;
+    }
+
+    /**
+     * Prepares the next game per the program's parameters and hands its view to a callback on the FX Application
+     * Thread. The view is the current view with a new layout generated into its Board in place if it is the size the
+     * parameters call for, see nextBoardView, or a new view of a new Board.
+     * A no-guess board is searched for on a background thread for up to noGuessBudget milliseconds, so the window
+     * carries on responding; meanwhile the current view, if any, is disabled and the ScoreBoard shows that a board is
+     * being generated. Any other board is generated straight away, and the callback called before this returns.
+     *
+     * @param ready called with the view of the next game once it is ready
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public void prepareNextBoard(Consumer<BoardView> ready) {
+        // A given seed is the seed shown for an earlier no-guess board, so it is regenerated rather than searched
+        if (!noGuess || seed != null) {
+            long boardSeed = (seed != null) ? seed : seedSource.nextLong();
+            ready.accept(nextBoardView(boardSeed, noGuess && isSolvable(boardSeed)));
+            return;
+        }
+        long boardSeed = seedSource.nextLong();
+        NoGuessGenerator generator = new NoGuessGenerator(gridSizeX, gridSizeY, getNumMines());
+        BoardView current = gameBoard;
+        if (current != null) current.getNode().setDisable(true);
+        scoreBoard.setGenerating(true);
+        CompletableFuture.supplyAsync(new Supplier<Long>() {
+            @Override
+            public Long get() {
+                return generator.search(boardSeed, noGuessBudget);
+            }
+        }).whenComplete(new BiConsumer<Long, Throwable>() {
+            @Override
+            public void accept(Long found, Throwable e) {
+                Platform.runLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (e != null) System.err.println("Could not search for a no-guess board: " + e);
+                        scoreBoard.setGenerating(false);
+                        if (current != null) current.getNode().setDisable(false);
+                        // An ordinary board with the start cell kept clear, as when the budget runs out
+                        ready.accept((e == null) ? nextBoardView(found, generator.isNoGuess())
+                                : nextBoardView(boardSeed, false));
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Checks whether a given seed's layout, with the start cell kept clear, can be won from it without guessing. A
+     * seed shown for an earlier no-guess board is regenerated without a search, and only ranked as no-guess if so.
+     *
+     * @param boardSeed seed of the layout
+     * @return true if the layout can be won without guessing
+     */
+    private boolean isSolvable(long boardSeed) {
+        int startCell = new NoGuessGenerator(gridSizeX, gridSizeY, getNumMines()).getStartCell();
+        return NoGuessGenerator.isSolvable(BoardGenerator.generate(gridSizeX, gridSizeY, getNumMines(), boardSeed,
+                startCell), startCell);
+    }
+
+    /**
+     * @return the number of bombs on each new board, per the program's parameters
+     */
+    private int getNumMines() {
+        Double tempBombs = gridSizeX * gridSizeY * percentBombs;
+        return tempBombs.intValue();
+    }
+
+    /**
+     * Starts a new game on the current view, generating the layout of a seed into its Board in place. Restarting
+     * this way allocates nothing per cell: the Board keeps its cells and the view keeps its nodes, handlers and
+     * layout, and only redraws. A new Board and view are created if there is no current view or its Board is not the
+     * size the parameters call for, e.g. after a resumed game.
+     * A no-guess layout keeps the start cell clear, and the start cell is opened.
+     *
+     * @param boardSeed seed of the layout, which for a no-guess board is one found by NoGuessGenerator.search
+     * @param isNoGuess true if the layout was proven winnable without guessing, for the leaderboard to rank it by
+     * @return the view of the new game
+     */
+    private BoardView nextBoardView(long boardSeed, boolean isNoGuess) {
+        int startCell = noGuess ? new NoGuessGenerator(gridSizeX, gridSizeY, getNumMines()).getStartCell() : -1;
+        Board board = (gameBoard != null) ? gameBoard.getBoard() : null;
+        if (board == null || board.getWidth() != gridSizeX || board.getHeight() != gridSizeY
+                || board.getNumMines() != getNumMines()) {
+            board = noGuess ? BoardGenerator.generate(gridSizeX, gridSizeY, getNumMines(), boardSeed, startCell)
+                    : BoardGenerator.generate(gridSizeX, gridSizeY, getNumMines(), boardSeed);
+            if (noGuess) board.reveal(startCell);
+            board.setNoGuess(isNoGuess);
+            return createBoardView(board);
+        }
+        // Nothing may be left changing the Board while it is reset
+        controller.discardMoves();
+        BoardGenerator.regenerate(board, boardSeed, startCell);
+        if (noGuess) board.reveal(startCell);
+        board.setNoGuess(isNoGuess);
+        gameBoard.reset();
+        return gameBoard;
+    }
+
+    /**
+     * Creates a view to display a Board with, per the program's parameters
+     *
+     * @param board the Board to be displayed
+     * @return the view of the Board
+     */
+    private BoardView createBoardView(Board board) {
+        BoardView view;
+        if ("canvas".equals(renderer)) {
+            view = new CanvasBoard(controller, board);
+        } else if ("virtual".equals(renderer) || board.getNumCells() > MAX_GRID_CELLS) {
+            view = new VirtualBoard(controller, board);
+        } else {
+            view = new GameBoard(controller, board);
+        }
+        view.setFrameBudget(frameBudget);
+        return view;
     }
 
 }
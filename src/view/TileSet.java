@@ -0,0 +1,162 @@
+package view;
+
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.text.TextAlignment;
+import model.Board;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * The cached tile Images the Canvas based views draw cells with.
+ * Every tile a cell can show is drawn once, on first use, and shared by every view. The colors match
+ * GameNodeStyles.css so the Canvas views look like the Cell buttons.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+final class TileSet {
+
+    /**
+     * Width and height of a tile in pixels
+     */
+    static final double TILE_SIZE = 32;
+
+    /**
+     * Tile for an unopened, unmarked cell. Tiles 0 through 8 are opened cells touching that many bombs.
+     */
+    static final int HIDDEN = 9;
+
+    /**
+     * Tile for a cell marked "X" during the game
+     */
+    static final int FLAG = 10;
+
+    /**
+     * Tile for a cell marked "?" during the game
+     */
+    static final int QUESTION = 11;
+
+    /**
+     * Tile for an unmarked bomb at the end of the game
+     */
+    static final int BOMB = 12;
+
+    /**
+     * Tile for a bomb marked "X" at the end of the game
+     */
+    static final int FLAG_BOMB = 13;
+
+    /**
+     * Tile for a bomb marked "?" at the end of the game
+     */
+    static final int QUESTION_BOMB = 14;
+
+    /**
+     * Tile for a safe cell marked "X" at the end of the game
+     */
+    static final int FLAG_SAFE = 15;
+
+    /**
+     * Tile for a safe cell marked "?" at the end of the game
+     */
+    static final int QUESTION_SAFE = 16;
+
+    /**
+     * Total number of distinct tiles
+     */
+    private static final int NUM_TILES = 17;
+
+    /**
+     * Cached tile Images, created on first use
+     */
+    private static Image[] tiles;
+
+    /**
+     * Static utility class - not to be instantiated
+     */
+    private TileSet() {
+    }
+
+    /**
+     * Gets the tile Images, drawing them if this is the first call. Must be called on the FX Application Thread.
+     *
+     * @return the tiles, indexed by the tile constants
+     */
+    static Image[] getTiles() {
+        if (tiles == null) {
+            Image[] images = new Image[NUM_TILES];
+            Canvas scratch = new Canvas(TILE_SIZE, TILE_SIZE);
+            for (int i = 0; i <= 8; ++i) {
+                images[i] = drawTile(scratch, Color.LIGHTGREY, Integer.toString(i));
+            }
+            images[HIDDEN] = drawTile(scratch, Color.LIGHTBLUE, null);
+            images[FLAG] = drawTile(scratch, Color.LIGHTBLUE, "X");
+            images[QUESTION] = drawTile(scratch, Color.LIGHTBLUE, "?");
+            images[BOMB] = drawTile(scratch, Color.RED, "B");
+            images[FLAG_BOMB] = drawTile(scratch, Color.GREEN, "X");
+            images[QUESTION_BOMB] = drawTile(scratch, Color.GREEN, "?");
+            images[FLAG_SAFE] = drawTile(scratch, Color.YELLOW, "X");
+            images[QUESTION_SAFE] = drawTile(scratch, Color.YELLOW, "?");
+            tiles = images;
+        }
+        return tiles;
+    }
+
+    /**
+     * Chooses the tile which shows the state of a cell
+     *
+     * @param state  packed state of the cell, as in model.Board
+     * @param isOver true once the game has ended and bombs and marked cells are to be shown
+     * @param isWon  true if the game ended in a win
+     * @return index of the tile
+     */
+    static int tileFor(int state, boolean isOver, boolean isWon) {
+        boolean isBomb = (state & Board.MINE) != 0;
+        if ((state & Board.REVEALED) != 0) {
+            return isBomb ? BOMB : state & Board.COUNT_MASK;
+        }
+        if (isOver) {
+            if (isBomb) {
+                if (isWon || (state & Board.FLAGGED) != 0) return FLAG_BOMB;
+                return (state & Board.QUESTIONED) != 0 ? QUESTION_BOMB : BOMB;
+            }
+            if ((state & Board.FLAGGED) != 0) return FLAG_SAFE;
+            if ((state & Board.QUESTIONED) != 0) return QUESTION_SAFE;
+            return HIDDEN;
+        }
+        if ((state & Board.FLAGGED) != 0) return FLAG;
+        if ((state & Board.QUESTIONED) != 0) return QUESTION;
+        return HIDDEN;
+    }
+
+    /**
+     * Draws a single tile and snapshots it into an Image
+     *
+     * @param scratch    Canvas the size of one tile to draw on
+     * @param background fill color of the tile
+     * @param text       text to center on the tile, or null for none
+     * @return the drawn tile
+     */
+    private static Image drawTile(Canvas scratch, Color background, String text) {
+        GraphicsContext gc = scratch.getGraphicsContext2D();
+        gc.setFill(background);
+        gc.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(0.75);
+        gc.strokeRect(0.375, 0.375, TILE_SIZE - 0.75, TILE_SIZE - 0.75);
+        if (text != null) {
+            gc.setFill(Color.BLACK);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setTextBaseline(VPos.CENTER);
+            gc.fillText(text, TILE_SIZE / 2, TILE_SIZE / 2);
+        }
+        return scratch.snapshot(new SnapshotParameters(), null);
+    }
+
+}
@@ -0,0 +1,544 @@
+package view;
+
+import control.BoardDiff;
+import control.Controller;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.input.ZoomEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Rectangle;
+import model.Board;
+import model.CellBatch;
+
+/**
+ * Kvarfordt-Tanner-Assn8
+ * Created on 10/18/2026
+ *
+ * Displays a model.Board with Cell buttons, like GameBoard, but only creates Cells for the part of the board in the
+ * viewport, so the number of nodes is set by the size of the window rather than the size of the board.
+ *
+ * The Cells are a pool of one more row and column than fit in the viewport. Each board cell has a fixed slot in the
+ * pool, its row and column modulo the pool's rows and columns, so the cells in the viewport never share a slot.
+ * The Cells sit at their board positions in a content Pane, and panning only moves that Pane; when a row or column
+ * scrolls out of the viewport, its Cells are recycled for the row or column scrolling in, and only they are
+ * re-rendered. Zooming changes the size of every Cell, so the pool is resized and every Cell re-rendered.
+ *
+ * The scroll wheel and the arrow keys pan the viewport; holding Ctrl while scrolling, or pinching, zooms it.
+ * A middle click, or a click with both buttons, chords a number.
+ *
+ * @author Tanner Kvarfordt
+ * @version 1.0
+ */
+@SuppressWarnings({"WeakerAccess", "CanBeFinal"})
+public class VirtualBoard extends Region implements BoardView {
+
+    /**
+     * Width and height of a cell in pixels when not zoomed
+     */
+    private static final double TILE_SIZE = TileSet.TILE_SIZE;
+
+    /**
+     * Smallest width and height of a cell in pixels
+     */
+    private static final double MIN_TILE_SIZE = 8;
+
+    /**
+     * Largest width and height of a cell in pixels
+     */
+    private static final double MAX_TILE_SIZE = 96;
+
+    /**
+     * Largest width or height the board will ask for, in pixels
+     */
+    private static final double MAX_VIEWPORT = 640;
+
+    /**
+     * Zoom factor of one notch of the scroll wheel
+     */
+    private static final double ZOOM_STEP = 1.25;
+
+    /**
+     * The overruling Controller for the VirtualBoard to allow interaction with other aspects of the game
+     */
+    private Controller controller;
+
+    /**
+     * The headless model being displayed
+     */
+    private Board board;
+
+    /**
+     * Holds the Cells at their board positions, and is moved to pan the viewport
+     */
+    private Pane content;
+
+    /**
+     * The pool of Cells, indexed by slot
+     */
+    private Cell[] pool;
+
+    /**
+     * Index of the board cell each slot of the pool is showing, or -1 if it is showing none
+     */
+    private int[] boundTo;
+
+    /**
+     * Number of columns of Cells in the pool
+     */
+    private int poolCols;
+
+    /**
+     * Number of rows of Cells in the pool
+     */
+    private int poolRows;
+
+    /**
+     * Width and height of a cell in pixels at the current zoom
+     */
+    private double tileSize;
+
+    /**
+     * Horizontal scroll offset in pixels
+     */
+    private double scrollX;
+
+    /**
+     * Vertical scroll offset in pixels
+     */
+    private double scrollY;
+
+    /**
+     * Determines whether or not clicks will have any effect on the VirtualBoard
+     */
+    private boolean isClickable;
+
+    /**
+     * True once the game has ended and bombs and marked cells are to be shown
+     */
+    private boolean isOver;
+
+    /**
+     * True if the game ended in a win
+     */
+    private boolean isWon;
+
+    /**
+     * Cells changed by moves, waiting to be rendered at the next pulse
+     */
+    private DirtyCells dirtyCells;
+
+    /**
+     * Index of the cell outlined as the guess suggested by a hint, or -1
+     */
+    private int guessCell;
+
+    /**
+     * Creates a new VirtualBoard displaying a Board
+     *
+     * @param controller the overruling Controller for the VirtualBoard
+     * @param board      the headless model to be displayed
+     */
+    @SuppressWarnings("Convert2Lambda")
+    public VirtualBoard(Controller controller, Board board) {
+        this.controller = controller;
+        this.board = board;
+        isClickable = false;
+        isOver = false;
+        isWon = false;
+        guessCell = -1;
+        tileSize = TILE_SIZE;
+        pool = new Cell[0];
+        boundTo = new int[0];
+
+        content = new Pane();
+        content.setManaged(false);
+        getChildren().add(content);
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(widthProperty());
+        clip.heightProperty().bind(heightProperty());
+        setClip(clip);
+
+        dirtyCells = new DirtyCells(board) {
+            @Override
+            protected void apply(CellBatch batch, int from, int to) {
+                for (int i = from; i < to; ++i) {
+                    renderCell(batch.get(i));
+                }
+            }
+        };
+
+        setPrefSize(Math.min(board.getWidth() * TILE_SIZE, MAX_VIEWPORT),
+                Math.min(board.getHeight() * TILE_SIZE, MAX_VIEWPORT));
+        setMinSize(4 * TILE_SIZE, 4 * TILE_SIZE);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setFocusTraversable(true);
+
+        setOnScroll(new EventHandler<ScrollEvent>() {
+            @Override
+            public void handle(ScrollEvent event) {
+                if (event.isControlDown()) {
+                    if (event.getDeltaY() != 0) {
+                        zoomTo(tileSize * (event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP), event.getX(),
+                                event.getY());
+                    }
+                } else {
+                    scrollTo(scrollX - event.getDeltaX(), scrollY - event.getDeltaY());
+                }
+                event.consume();
+            }
+        });
+        // Revealed Cells are disabled and so are never the target of a click, so a chord's cell is found from where
+        // the VirtualBoard was clicked
+        addEventHandler(MouseEvent.MOUSE_PRESSED, new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                requestFocus();
+                if (!isClickable || !BoardView.isChord(event)) return;
+                int col = (int) Math.floor((event.getX() + scrollX) / tileSize);
+                int row = (int) Math.floor((event.getY() + scrollY) / tileSize);
+                if (board.isInBounds(row, col)) controller.chordCell(board.indexOf(row, col));
+            }
+        });
+        setOnZoom(new EventHandler<ZoomEvent>() {
+            @Override
+            public void handle(ZoomEvent event) {
+                zoomTo(tileSize * event.getZoomFactor(), event.getX(), event.getY());
+                event.consume();
+            }
+        });
+        // A filter, so the arrow keys pan rather than move the focus between Cells
+        addEventFilter(KeyEvent.KEY_PRESSED, new EventHandler<KeyEvent>() {
+            @Override
+            public void handle(KeyEvent event) {
+                switch (event.getCode()) {
+                    case LEFT:
+                        scrollTo(scrollX - tileSize, scrollY);
+                        break;
+                    case RIGHT:
+                        scrollTo(scrollX + tileSize, scrollY);
+                        break;
+                    case UP:
+                        scrollTo(scrollX, scrollY - tileSize);
+                        break;
+                    case DOWN:
+                        scrollTo(scrollX, scrollY + tileSize);
+                        break;
+                    default:
+                        return;
+                }
+                event.consume();
+            }
+        });
+    }
+
+    /**
+     * Resizes the pool to fit the viewport and brings the Cells in the viewport up to date
+     */
+    @Override
+    protected void layoutChildren() {
+        int cols = Math.min(board.getWidth(), (int) Math.ceil(getWidth() / tileSize) + 1);
+        int rows = Math.min(board.getHeight(), (int) Math.ceil(getHeight() / tileSize) + 1);
+        if (cols != poolCols || rows != poolRows) resizePool(cols, rows);
+        scrollTo(scrollX, scrollY);
+        updateViewport();
+    }
+
+    /**
+     * Resizes the pool, keeping the Cells it already has; every Cell is left hidden, showing no cell
+     *
+     * @param cols number of columns of Cells
+     * @param rows number of rows of Cells
+     */
+    private void resizePool(int cols, int rows) {
+        int size = Math.max(cols, 0) * Math.max(rows, 0);
+        Cell[] oldPool = pool;
+        pool = new Cell[size];
+        boundTo = new int[size];
+        for (int i = 0; i < size; ++i) {
+            pool[i] = (i < oldPool.length) ? oldPool[i] : createCell();
+        }
+        unbindPool();
+        if (oldPool.length > size) {
+            content.getChildren().remove(size, oldPool.length);
+        } else {
+            for (int i = oldPool.length; i < size; ++i) {
+                content.getChildren().add(pool[i]);
+            }
+        }
+        poolCols = cols;
+        poolRows = rows;
+    }
+
+    /**
+     * Creates a Cell for the pool, which clicks on are forwarded to the Controller for the cell it is showing
+     *
+     * @return the new Cell, showing no cell
+     */
+    @SuppressWarnings("Convert2Lambda")
+    private Cell createCell() {
+        Cell g = new Cell(-1, -1);
+        g.setManaged(false);
+        g.setFocusTraversable(false);
+        g.setMinSize(0, 0);
+        g.setVisible(false);
+        g.setOnMousePressed(new EventHandler<MouseEvent>() {
+            @Override
+            public void handle(MouseEvent event) {
+                requestFocus();
+                // A chord is left to bubble up to the VirtualBoard, which also hears chords on revealed Cells
+                if (isClickable && !BoardView.isChord(event) && board.isInBounds(g.getRow(), g.getCol())) {
+                    int index = board.indexOf(g.getRow(), g.getCol());
+                    if (event.getButton() == MouseButton.SECONDARY) {
+                        controller.markCell(index);
+                    } else if (event.getButton() == MouseButton.PRIMARY) {
+                        controller.openCell(index);
+                    }
+                }
+            }
+        });
+        return g;
+    }
+
+    /**
+     * Moves the content to the scroll offset and makes each cell in the viewport shown by its slot's Cell,
+     * re-rendering only the Cells which were showing another cell
+     */
+    private void updateViewport() {
+        content.setLayoutX(-scrollX);
+        content.setLayoutY(-scrollY);
+        if (pool.length == 0) return;
+        int firstCol = (int) (scrollX / tileSize);
+        int firstRow = (int) (scrollY / tileSize);
+        int lastCol = Math.min(board.getWidth(), firstCol + poolCols) - 1;
+        int lastRow = Math.min(board.getHeight(), firstRow + poolRows) - 1;
+        for (int row = firstRow; row <= lastRow; ++row) {
+            int slotRow = (row % poolRows) * poolCols;
+            for (int col = firstCol; col <= lastCol; ++col) {
+                int slot = slotRow + col % poolCols;
+                int index = board.indexOf(row, col);
+                if (boundTo[slot] == index) continue;
+                boundTo[slot] = index;
+                Cell g = pool[slot];
+                g.setGridCoords(row, col);
+                g.resizeRelocate(col * tileSize, row * tileSize, tileSize, tileSize);
+                g.setVisible(true);
+                render(g, index);
+            }
+        }
+    }
+
+    /**
+     * Scrolls the viewport, keeping it within the board's bounds
+     *
+     * @param x new horizontal scroll offset in pixels
+     * @param y new vertical scroll offset in pixels
+     */
+    private void scrollTo(double x, double y) {
+        double maxX = Math.max(0, board.getWidth() * tileSize - getWidth());
+        double maxY = Math.max(0, board.getHeight() * tileSize - getHeight());
+        x = Math.min(Math.max(x, 0), maxX);
+        y = Math.min(Math.max(y, 0), maxY);
+        if (x != scrollX || y != scrollY) {
+            scrollX = x;
+            scrollY = y;
+            updateViewport();
+        }
+    }
+
+    /**
+     * Zooms the viewport, keeping the point under (x, y) where it is
+     *
+     * @param size new width and height of a cell in pixels, which is kept within MIN_TILE_SIZE and MAX_TILE_SIZE
+     * @param x    horizontal coordinate, local to the VirtualBoard
+     * @param y    vertical coordinate, local to the VirtualBoard
+     */
+    private void zoomTo(double size, double x, double y) {
+        size = Math.min(Math.max(size, MIN_TILE_SIZE), MAX_TILE_SIZE);
+        if (size == tileSize) return;
+        double scale = size / tileSize;
+        tileSize = size;
+        scrollX = (scrollX + x) * scale - x;
+        scrollY = (scrollY + y) * scale - y;
+        // Every Cell changes size, so none of them are up to date
+        unbindPool();
+        requestLayout();
+    }
+
+    /**
+     * Hides every Cell in the pool, leaving it showing no cell; the Cells in the viewport are shown again by
+     * updateViewport, and a Cell with no cell in the viewport is left hidden rather than showing a stale cell
+     */
+    private void unbindPool() {
+        for (int i = 0; i < pool.length; ++i) {
+            boundTo[i] = -1;
+            pool[i].setVisible(false);
+        }
+    }
+
+    /**
+     * Renders a Cell to show a cell of the board, including the outline of a guess and the end of game display
+     *
+     * @param g     the Cell
+     * @param index index of the cell
+     */
+    private void render(Cell g, int index) {
+        int state = dirtyCells.getState(index);
+        g.render(state);
+        g.setGuess(index == guessCell);
+        if (isOver) g.renderGameOver(state, isWon);
+    }
+
+    /**
+     * @return the headless model being displayed
+     */
+    @Override
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return this VirtualBoard
+     */
+    @Override
+    public Node getNode() {
+        return this;
+    }
+
+    /**
+     * Sets whether or not clicks on the VirtualBoard will have any effect
+     *
+     * @param isClickable true if setting the VirtualBoard to be clickable, false if not
+     */
+    @Override
+    public void setClickable(boolean isClickable) {
+        this.isClickable = isClickable;
+    }
+
+    /**
+     * @return whether or not the VirtualBoard is clickable
+     */
+    @Override
+    public boolean isClickable() {
+        return isClickable;
+    }
+
+    /**
+     * Sets the most time to spend drawing changed cells in a frame
+     *
+     * @param nanos the time in nanoseconds, or 0 to draw every changed cell in the next frame
+     */
+    @Override
+    public void setFrameBudget(long nanos) {
+        dirtyCells.setFrameBudget(nanos);
+    }
+
+    /**
+     * Renders the cells changed by a batch of moves which are in the viewport at the next pulse, along with any
+     * other moves made before it, or re-renders the whole pool if the diff is of the whole board, and clears the
+     * outline of the last guess
+     *
+     * @param diff the result of the moves
+     */
+    @Override
+    public void renderDiff(BoardDiff diff) {
+        clearGuess();
+        dirtyCells.addAll(diff);
+        if (diff.isWholeBoard()) renderPool();
+    }
+
+    /**
+     * Renders a single cell if a Cell is showing it
+     *
+     * @param index index of the cell to be rendered
+     */
+    @Override
+    public void renderCell(int index) {
+        if (pool.length == 0) return;
+        int slot = (board.rowOf(index) % poolRows) * poolCols + board.colOf(index) % poolCols;
+        if (boundTo[slot] == index) render(pool[slot], index);
+    }
+
+    /**
+     * Copies every cell's state from the Board and re-renders every Cell in the pool which is showing a cell
+     */
+    @Override
+    public void renderAll() {
+        dirtyCells.copyBoard();
+        renderPool();
+    }
+
+    /**
+     * Copies every cell's state from the Board, re-renders every Cell in the pool and clears the end of game display,
+     * for a new game on the same VirtualBoard
+     */
+    @Override
+    public void reset() {
+        guessCell = -1;
+        isOver = false;
+        isWon = false;
+        renderAll();
+    }
+
+    /**
+     * Outlines the cell a hint suggests guessing, scrolling it into view if need be, until the next diff is rendered
+     * or the game ends
+     *
+     * @param index index of the cell
+     */
+    @Override
+    public void showGuess(int index) {
+        clearGuess();
+        guessCell = index;
+        double x = board.colOf(index) * tileSize;
+        double y = board.rowOf(index) * tileSize;
+        if (x < scrollX || x + tileSize > scrollX + getWidth() || y < scrollY || y + tileSize > scrollY + getHeight()) {
+            scrollTo(x + (tileSize - getWidth()) / 2, y + (tileSize - getHeight()) / 2);
+        }
+        renderCell(index);
+    }
+
+    /**
+     * Clears the outline of the guess suggested by a hint, if there is one
+     */
+    private void clearGuess() {
+        int old = guessCell;
+        guessCell = -1;
+        if (old >= 0) renderCell(old);
+    }
+
+    /**
+     * Shows all bombs and marked cells - to be called at the end of the game
+     */
+    @Override
+    public void disableAllBombsAndMarkedCells() {
+        guessCell = -1;
+        isOver = true;
+        renderPool();
+    }
+
+    /**
+     * Marks all unmarked bombs - to be called if the user has won
+     */
+    @Override
+    public void markBombsOnWin() {
+        isWon = true;
+        renderPool();
+    }
+
+    /**
+     * Re-renders every Cell in the pool which is showing a cell; the cells still waiting to be rendered are no
+     * longer waiting
+     */
+    private void renderPool() {
+        dirtyCells.flush();
+        for (int i = 0; i < pool.length; ++i) {
+            if (boundTo[i] >= 0) render(pool[i], boundTo[i]);
+        }
+    }
+
+}